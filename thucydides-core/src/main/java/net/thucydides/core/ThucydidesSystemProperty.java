@@ -98,7 +98,76 @@ public enum ThucydidesSystemProperty {
      * Public URL where the Thucydides reports will be displayed.
      * This is mainly for use by plugins.
      */
-    PUBLIC_URL("thucydides.public.url");
+    PUBLIC_URL("thucydides.public.url"),
+
+    /**
+     * How many threads should be used to load the XML test reports when generating the aggregate reports.
+     * Defaults to the number of available processors. Use 1 to load the reports sequentially.
+     */
+    REPORT_LOADER_THREADS("thucydides.report.loader.threads"),
+
+    /**
+     * How many threads should be used to render the user story and feature pages of the aggregate reports.
+     * Defaults to the number of available processors. Use 1 to render the pages sequentially, e.g. for debugging.
+     */
+    REPORT_RENDERING_THREADS("thucydides.report.rendering.threads"),
+
+    /**
+     * Name screenshots after a hash of their contents, so that identical screenshots are only stored once.
+     */
+    CONTENT_ADDRESSED_SCREENSHOTS("thucydides.content.addressed.screenshots"),
+
+    /**
+     * Don't take a new screenshot after a step if the page has not changed since the last one.
+     * The step reuses the previous screenshot instead.
+     */
+    SKIP_UNCHANGED_SCREENSHOTS("thucydides.skip.unchanged.screenshots"),
+
+    /**
+     * When to take screenshots: every_step (the default), failing_steps, every_nth_step, url_change,
+     * step_groups or budget, or the class name of a custom ScreenshotStrategy.
+     */
+    SCREENSHOT_STRATEGY("thucydides.screenshot.strategy"),
+
+    /**
+     * How many steps between screenshots for the every_nth_step screenshot strategy. Defaults to 10.
+     */
+    SCREENSHOT_INTERVAL("thucydides.screenshot.interval"),
+
+    /**
+     * The maximum number of screenshots per test for the budget screenshot strategy. Defaults to 20.
+     */
+    SCREENSHOT_BUDGET("thucydides.screenshot.budget"),
+
+    /**
+     * How many threads should be used to rescale the screenshots for the HTML reports.
+     * Defaults to the number of available processors. Use 1 to process the screenshots in the reporting thread.
+     */
+    SCREENSHOT_PROCESSING_THREADS("thucydides.screenshot.processing.threads"),
+
+    /**
+     * Display compressed JPEG copies of the screenshots in the HTML reports, rather than the original PNG files.
+     */
+    REPORT_JPEG_SCREENSHOTS("thucydides.report.jpeg.screenshots"),
+
+    /**
+     * The maximum disk space, in megabytes, used by the screenshots and page sources saved by each step listener,
+     * that is, by each test class or story, rather than by the whole test run.
+     * When it is exceeded, the screenshots of passing steps are deleted, oldest first. By default there is no limit.
+     */
+    SCREENSHOT_DISK_BUDGET("thucydides.screenshot.disk.budget"),
+
+    /**
+     * When to save the page source along with a screenshot: always (the default), failing_steps, or never.
+     * Saved page sources are gzip-compressed.
+     */
+    PAGE_SOURCE_CAPTURE("thucydides.page.source.capture"),
+
+    /**
+     * Deliver step events to the custom step listeners found on the classpath in a background thread,
+     * rather than in the test thread. The Thucydides listeners are always called in the test thread.
+     */
+    ASYNCHRONOUS_CUSTOM_LISTENERS("thucydides.asynchronous.custom.listeners");
 
     private String propertyName;
     public static final int DEFAULT_HEIGHT = 1000;
@@ -0,0 +1,17 @@
+package net.thucydides.core.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keep hold of the web elements found for a page object, rather than finding them again each time they are used.
+ * Put it on a page object class to cache all its elements, or on individual WebElement fields.
+ * A cached element is found again if it has gone stale, or after the browser has opened a new page.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.FIELD})
+@Inherited
+public @interface CachedElements {}
@@ -0,0 +1,28 @@
+package net.thucydides.core.annotations;
+
+import net.thucydides.core.screenshots.ScreenshotPolicy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Choose when screenshots are taken for the tests in a test class,
+ * overriding the thucydides.screenshot.strategy system property.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Screenshots {
+    ScreenshotPolicy value();
+
+    /**
+     * Used by the EVERY_NTH_STEP policy.
+     */
+    int interval() default ScreenshotPolicy.DEFAULT_INTERVAL;
+
+    /**
+     * Used by the BUDGET policy.
+     */
+    int budget() default ScreenshotPolicy.DEFAULT_BUDGET;
+}
@@ -1,8 +1,11 @@
 package net.thucydides.core.guice;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Singleton;
 import net.thucydides.core.pages.InternalSystemClock;
 import net.thucydides.core.pages.SystemClock;
+import net.thucydides.core.reports.html.HtmlResourceCopyManager;
+import net.thucydides.core.reports.html.screenshots.ScreenshotProcessor;
 import net.thucydides.core.reports.json.ColorScheme;
 import net.thucydides.core.reports.json.RelativeSizeColorScheme;
 import net.thucydides.core.reports.templates.FreeMarkerTemplateManager;
@@ -16,7 +19,9 @@ public class ThucydidesModule extends AbstractModule {
     protected void configure() {
         bind(ColorScheme.class).to(RelativeSizeColorScheme.class);
         bind(SystemClock.class).to(InternalSystemClock.class);
-        bind(TemplateManager.class).to(FreeMarkerTemplateManager.class);
+        bind(TemplateManager.class).to(FreeMarkerTemplateManager.class).in(Singleton.class);
+        bind(HtmlResourceCopyManager.class).in(Singleton.class);
+        bind(ScreenshotProcessor.class).in(Singleton.class);
         bind(EnvironmentVariables.class).to(SystemEnvironmentVariables.class);
     }
 }
@@ -0,0 +1,71 @@
+package net.thucydides.core.images;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the dimensions of the screenshots used in the reports, so that each PNG header only needs to be read
+ * once per JVM. Entries are keyed by file path and checked against the last modification date of the file,
+ * so a file that is overwritten is read again. Dimensions that are already known, for example when a screenshot
+ * is taken, can be recorded directly.
+ */
+public final class ImageInfoCache {
+
+    private static final int MAXIMUM_CACHED_IMAGES = 10000;
+
+    private static final Map<String, CachedImageInfo> CACHED_IMAGES
+            = new LinkedHashMap<String, CachedImageInfo>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, CachedImageInfo> eldest) {
+            return size() > MAXIMUM_CACHED_IMAGES;
+        }
+    };
+
+    private ImageInfoCache() {
+    }
+
+    /**
+     * The dimensions of an image file, read from its header unless they are already known.
+     */
+    public static SimpleImageInfo imageInfoFor(final File imageFile) throws IOException {
+        long lastModified = imageFile.lastModified();
+        CachedImageInfo cachedImageInfo = cachedImageInfoFor(imageFile);
+        if ((cachedImageInfo != null) && (cachedImageInfo.lastModified == lastModified)) {
+            return cachedImageInfo.imageInfo;
+        }
+        SimpleImageInfo imageInfo = new SimpleImageInfo(imageFile);
+        cache(imageFile, lastModified, imageInfo);
+        return imageInfo;
+    }
+
+    /**
+     * Record the dimensions of an image file that has just been written.
+     */
+    public static void recordImageInfo(final File imageFile, final int width, final int height) {
+        cache(imageFile, imageFile.lastModified(), new SimpleImageInfo(width, height));
+    }
+
+    private static CachedImageInfo cachedImageInfoFor(final File imageFile) {
+        synchronized (CACHED_IMAGES) {
+            return CACHED_IMAGES.get(imageFile.getAbsolutePath());
+        }
+    }
+
+    private static void cache(final File imageFile, final long lastModified, final SimpleImageInfo imageInfo) {
+        synchronized (CACHED_IMAGES) {
+            CACHED_IMAGES.put(imageFile.getAbsolutePath(), new CachedImageInfo(lastModified, imageInfo));
+        }
+    }
+
+    private static class CachedImageInfo {
+        private final long lastModified;
+        private final SimpleImageInfo imageInfo;
+
+        CachedImageInfo(final long lastModified, final SimpleImageInfo imageInfo) {
+            this.lastModified = lastModified;
+            this.imageInfo = imageInfo;
+        }
+    }
+}
@@ -2,12 +2,17 @@ package net.thucydides.core.images;
 
 import org.apache.commons.io.FileUtils;
 
+import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.logging.Logger;
 
 public class ResizableImage {
@@ -18,7 +23,7 @@ public class ResizableImage {
 
     public ResizableImage(final File screenshotFile) throws IOException {
         this.screenshotFile = screenshotFile;
-        this.imageInfo = new SimpleImageInfo(screenshotFile);
+        this.imageInfo = ImageInfoCache.imageInfoFor(screenshotFile);
     }
 
     public static ResizableImage loadFrom(final File screenshotFile) throws IOException {
@@ -41,7 +46,7 @@ public class ResizableImage {
 
         int targetHeight = Math.min(height, MAX_SUPPORTED_HEIGHT);
         BufferedImage image = ImageIO.read(screenshotFile);
-        int width = new SimpleImageInfo(screenshotFile).getWidth();
+        int width = imageInfo.getWidth();
         BufferedImage resizedImage = new BufferedImage(width, targetHeight, BufferedImage.TYPE_INT_ARGB_PRE);
 
         fillWithWhiteBackground(resizedImage);
@@ -51,6 +56,16 @@ public class ResizableImage {
         return new ResizedImage(resizedImage, screenshotFile);
     }
 
+    /**
+     * The height of the image that rescaleCanvas() would produce for a given target height.
+     */
+    public int getRescaledHeight(final int height) {
+        if (skipRescale(height)) {
+            return getHeight();
+        }
+        return Math.min(height, MAX_SUPPORTED_HEIGHT);
+    }
+
     private boolean skipRescale(int height) {
         if (getHeight() > MAX_SUPPORTED_HEIGHT) {
             return true;
@@ -70,6 +85,54 @@ public class ResizableImage {
         g2d.dispose();
     }
 
+    protected BufferedImage getImage() throws IOException {
+        return ImageIO.read(screenshotFile);
+    }
+
+    /**
+     * Save a small square preview of the top of the image, scaled down to the given size.
+     */
+    public void saveThumbnailTo(final File thumbnailFile, final int size) throws IOException {
+        BufferedImage image = getImage();
+        int width = image.getWidth();
+        BufferedImage topOfImage = image.getSubimage(0, 0, width, Math.min(width, image.getHeight()));
+        int thumbnailHeight = Math.max(1, topOfImage.getHeight() * size / width);
+        Image scaledImage = topOfImage.getScaledInstance(size, thumbnailHeight, Image.SCALE_SMOOTH);
+
+        BufferedImage thumbnail = new BufferedImage(size, thumbnailHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = thumbnail.createGraphics();
+        g2d.drawImage(scaledImage, 0, 0, Color.WHITE, null);
+        g2d.dispose();
+        ImageIO.write(thumbnail, "PNG", thumbnailFile);
+    }
+
+    /**
+     * Save a compressed JPEG copy of the image. The quality ranges from 0 (smallest) to 1 (best).
+     */
+    public void saveAsJpegTo(final File jpegFile, final float quality) throws IOException {
+        BufferedImage image = getImage();
+        BufferedImage rgbImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = rgbImage.createGraphics();
+        g2d.drawImage(image, 0, 0, Color.WHITE, null);
+        g2d.dispose();
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        ImageWriter writer = writers.next();
+        ImageWriteParam writeParam = writer.getDefaultWriteParam();
+        writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        writeParam.setCompressionQuality(quality);
+
+        jpegFile.delete();
+        ImageOutputStream output = ImageIO.createImageOutputStream(jpegFile);
+        try {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(rgbImage, null, null), writeParam);
+        } finally {
+            output.close();
+            writer.dispose();
+        }
+    }
+
     /**
      * If no resize operation has been done, just copy the file.
      * Otherwise we should be applying the saveTo() method on the ResizedImage class.
@@ -14,6 +14,11 @@ public class ResizedImage extends ResizableImage {
         this.image = image;
     }
 
+    @Override
+    protected BufferedImage getImage() {
+        return image;
+    }
+
     @Override
     public void saveTo(final File file) throws IOException {
         ImageIO.write(image, "PNG", file);
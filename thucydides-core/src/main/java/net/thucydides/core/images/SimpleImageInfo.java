@@ -28,6 +28,7 @@ package net.thucydides.core.images;
 
  *  -------------------------------------------------------------------------------
  */
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -47,6 +48,15 @@ public class SimpleImageInfo {
 		}
 	}
 
+	public SimpleImageInfo(final byte[] bytes) throws IOException {
+		processStream(new ByteArrayInputStream(bytes));
+	}
+
+	SimpleImageInfo(final int width, final int height) {
+		this.width = width;
+		this.height = height;
+	}
+
 	private void processStream(final InputStream is) throws IOException {
 		int c1 = is.read();
 		int c2 = is.read();
@@ -59,6 +69,22 @@ public class SimpleImageInfo {
 			width = readInt(is,2);
 			is.skip(2);
 			height = readInt(is,2);
+		} else if (c1 == 255 && c2 == 216) { // JPEG: the dimensions are in the first start-of-frame segment
+			while (c3 == 255) {
+				int marker = is.read();
+				int length = readInt(is,2);
+				if (marker >= 192 && marker <= 194) {
+					is.skip(1);
+					height = readInt(is,2);
+					width = readInt(is,2);
+					break;
+				}
+				is.skip(length - 2);
+				c3 = is.read();
+			}
+			if (width == 0) {
+				throw new IOException("Could not find the JPEG image size");
+			}
 		} else {
 			throw new IOException("Unsupported image type");
 		}
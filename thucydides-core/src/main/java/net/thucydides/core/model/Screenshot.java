@@ -12,24 +12,41 @@ public class Screenshot {
     private final String filename;
     private final String description;
     private final int width;
+    private final int height;
     private final Throwable error;
 
     public Screenshot(final String filename,
                       final String description,
                       final int width,
+                      final int height,
                       final Throwable error) {
         this.filename = filename;
         this.description = description;
         this.width = width;
+        this.height = height;
         this.error = error;
     }
 
+    public Screenshot(final String filename,
+                      final String description,
+                      final int width,
+                      final Throwable error) {
+        this(filename, description, width, 0, error);
+    }
+
     public Screenshot(final String filename,
                       final String description,
                       final int width) {
         this(filename, description, width, null);
     }
 
+    /**
+     * The name of the small preview image generated for a screenshot file in the reports.
+     */
+    public static String thumbnailFor(final String screenshotFilename) {
+        return "thumbnail_" + screenshotFilename;
+    }
+
     public Throwable getError() {
         return error;
     }
@@ -62,4 +79,11 @@ public class Screenshot {
     public int getWidth() {
         return width;
     }
+
+    /**
+     * The height of the screenshot, or 0 if it is not known.
+     */
+    public int getHeight() {
+        return height;
+    }
 }
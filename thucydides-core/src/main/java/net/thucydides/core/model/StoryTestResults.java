@@ -224,7 +224,7 @@ public class StoryTestResults {
     private int totalImplementedTests() {
        int testCount = 0;
        for(TestOutcome testOutcome : testOutcomes) {
-           if (!testOutcome.getTestSteps().isEmpty()) {
+           if (testOutcome.getStepCount() > 0) {
                testCount++;
            }
        }
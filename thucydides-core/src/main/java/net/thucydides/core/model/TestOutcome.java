@@ -4,7 +4,7 @@ import ch.lambdaj.function.convert.Converter;
 import com.google.common.collect.ImmutableList;
 import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.annotations.TestAnnotations;
-import net.thucydides.core.images.SimpleImageInfo;
+import net.thucydides.core.images.ImageInfoCache;
 import net.thucydides.core.model.features.ApplicationFeature;
 import net.thucydides.core.reports.html.Formatter;
 import net.thucydides.core.util.NameConverter;
@@ -233,7 +233,8 @@ public class TestOutcome {
             if (!currentStep.isAGroup() && currentStep.getScreenshot() != null) {
                 screenshots.add(new Screenshot(currentStep.getScreenshot().getName(),
                                                currentStep.getDescription(),
-                                               widthOf(currentStep.getScreenshot()),
+                                               widthOf(currentStep),
+                                               currentStep.getScreenshotHeight(),
                                                currentStep.getException()));
             }
         }
@@ -241,9 +242,16 @@ public class TestOutcome {
         return ImmutableList.copyOf(screenshots);
     }
 
+    private int widthOf(final TestStep step) {
+        if (step.getScreenshotWidth() > 0) {
+            return step.getScreenshotWidth();
+        }
+        return widthOf(step.getScreenshot());
+    }
+
     private int widthOf(final File screenshot) {
         try {
-            return new SimpleImageInfo(screenshot).getWidth();
+            return ImageInfoCache.imageInfoFor(screenshot).getWidth();
         } catch (IOException e) {
             return ThucydidesSystemProperty.DEFAULT_WIDTH;
         }
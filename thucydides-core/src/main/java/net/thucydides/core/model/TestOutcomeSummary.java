@@ -0,0 +1,116 @@
+package net.thucydides.core.model;
+
+/**
+ * A test outcome loaded without its step tree.
+ * The step counts and the overall result are read from the report rather than being calculated from the
+ * individual test steps. This is all the aggregate reports need, and is much cheaper to load.
+ */
+public class TestOutcomeSummary extends TestOutcome {
+
+    private int stepCount;
+    private int nestedStepCount;
+    private int leafStepCount;
+    private int successCount;
+    private int failureCount;
+    private int ignoredCount;
+    private int skippedCount;
+    private int pendingCount;
+    private TestResult result;
+
+    public TestOutcomeSummary(final String methodName) {
+        super(methodName);
+    }
+
+    @Override
+    public TestResult getResult() {
+        if (result == null) {
+            return super.getResult();
+        }
+        return result;
+    }
+
+    public void setResult(final TestResult result) {
+        this.result = result;
+    }
+
+    /**
+     * The number of top-level steps or step groups.
+     */
+    @Override
+    public Integer getStepCount() {
+        return stepCount;
+    }
+
+    public void setStepCount(final int stepCount) {
+        this.stepCount = stepCount;
+    }
+
+    /**
+     * The number of steps and step groups at all levels.
+     */
+    @Override
+    public Integer getNestedStepCount() {
+        return nestedStepCount;
+    }
+
+    public void setNestedStepCount(final int nestedStepCount) {
+        this.nestedStepCount = nestedStepCount;
+    }
+
+    /**
+     * The number of steps, not counting the step groups.
+     */
+    @Override
+    public Integer countTestSteps() {
+        return leafStepCount;
+    }
+
+    public void setLeafStepCount(final int leafStepCount) {
+        this.leafStepCount = leafStepCount;
+    }
+
+    @Override
+    public Integer getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(final int successCount) {
+        this.successCount = successCount;
+    }
+
+    @Override
+    public Integer getFailureCount() {
+        return failureCount;
+    }
+
+    public void setFailureCount(final int failureCount) {
+        this.failureCount = failureCount;
+    }
+
+    @Override
+    public Integer getIgnoredCount() {
+        return ignoredCount;
+    }
+
+    public void setIgnoredCount(final int ignoredCount) {
+        this.ignoredCount = ignoredCount;
+    }
+
+    @Override
+    public Integer getSkippedCount() {
+        return skippedCount;
+    }
+
+    public void setSkippedCount(final int skippedCount) {
+        this.skippedCount = skippedCount;
+    }
+
+    @Override
+    public Integer getPendingCount() {
+        return pendingCount;
+    }
+
+    public void setPendingCount(final int pendingCount) {
+        this.pendingCount = pendingCount;
+    }
+}
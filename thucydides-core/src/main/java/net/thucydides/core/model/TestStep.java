@@ -34,6 +34,8 @@ public class TestStep {
     private long startTime;
     private String screenshotPath;
     private File screenshot;
+    private int screenshotWidth;
+    private int screenshotHeight;
     private File htmlSource;
     private Throwable cause;
     private TestResult result;
@@ -86,6 +88,28 @@ public class TestStep {
         return screenshot;
     }
 
+    /**
+     * Record the dimensions of the screenshot, if they are known when it is taken.
+     */
+    public void setScreenshotDimensions(final int width, final int height) {
+        this.screenshotWidth = width;
+        this.screenshotHeight = height;
+    }
+
+    /**
+     * The width of the screenshot, or 0 if it was not recorded when the screenshot was taken.
+     */
+    public int getScreenshotWidth() {
+        return screenshotWidth;
+    }
+
+    /**
+     * The height of the screenshot, or 0 if it was not recorded when the screenshot was taken.
+     */
+    public int getScreenshotHeight() {
+        return screenshotHeight;
+    }
+
     public void setScreenshotPath(final String screenshotPath) {
         this.screenshotPath = screenshotPath;
     }
@@ -94,6 +118,17 @@ public class TestStep {
         return screenshotPath;
     }
 
+    /**
+     * The small preview of the screenshot displayed in the test reports.
+     */
+    public String getScreenshotThumbnail() {
+        if (screenshot != null) {
+            return Screenshot.thumbnailFor(screenshot.getName());
+        } else {
+            return "";
+        }
+    }
+
     public String getScreenshotPage() {
         if (screenshot != null) {
             return "screenshot_" + withoutType(screenshot.getName()) + ".html";
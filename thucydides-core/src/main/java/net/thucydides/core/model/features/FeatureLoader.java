@@ -29,13 +29,18 @@ public class FeatureLoader {
     }
 
     public List<FeatureResults> loadFrom(final File resultsDirectory) throws IOException {
-        List<FeatureResults> results = new ArrayList<FeatureResults>();
-
         List<StoryTestResults> stories = getUserStoriesLoader().loadFrom(resultsDirectory);
+        return getFeatureResultsFor(stories);
+    }
+
+    /**
+     * Organize a list of story results that have already been loaded into features.
+     */
+    public List<FeatureResults> getFeatureResultsFor(final List<StoryTestResults> stories) {
+        List<FeatureResults> results = new ArrayList<FeatureResults>();
         for(StoryTestResults storyResult : stories) {
             updateFeatureResults(results, storyResult);
         }
-
         return results;
     }
 
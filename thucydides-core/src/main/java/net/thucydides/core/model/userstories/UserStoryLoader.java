@@ -1,10 +1,14 @@
 package net.thucydides.core.model.userstories;
 
+import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.model.Story;
 import net.thucydides.core.model.StoryTestResults;
 import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestOutcomeSummary;
 import net.thucydides.core.reports.xml.NotAThucydidesReportException;
+import net.thucydides.core.reports.xml.TestOutcomeIndex;
 import net.thucydides.core.reports.xml.XMLTestOutcomeReporter;
+import net.thucydides.core.util.ParallelTaskRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,10 +18,13 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Callable;
 
 /**
  * Loads a list of user stories from a given directory.
- * 
+ * The XML reports can be parsed in parallel: the number of worker threads defaults to the number
+ * of available processors, and can be overridden using the thucydides.report.loader.threads system property.
+ * Whatever the number of threads, the test outcomes are recorded in the order of the report files.
  */
 public class UserStoryLoader {
 
@@ -29,6 +36,54 @@ public class UserStoryLoader {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UserStoryLoader.class);
 
+    private static final int AVAILABLE_PROCESSORS = Runtime.getRuntime().availableProcessors();
+
+    private int threadCount;
+
+    private boolean summaryOnly;
+
+    private File indexFile;
+
+    public UserStoryLoader() {
+        this.threadCount = ThucydidesSystemProperty.getIntegerValue(ThucydidesSystemProperty.REPORT_LOADER_THREADS,
+                                                                    AVAILABLE_PROCESSORS);
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * How many report files can be parsed at the same time. Use 1 to load the reports sequentially.
+     */
+    public void setThreadCount(final int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    public boolean isSummaryOnly() {
+        return summaryOnly;
+    }
+
+    /**
+     * Only load the overall results and step counts of each test, and not the individual steps.
+     * This is enough for the aggregate reports, and much faster for large test runs.
+     */
+    public void setSummaryOnly(final boolean summaryOnly) {
+        this.summaryOnly = summaryOnly;
+    }
+
+    public File getIndexFile() {
+        return indexFile;
+    }
+
+    /**
+     * Keep an index of the test outcome summaries in this file, so that unchanged reports are not parsed again
+     * the next time the reports are loaded. The index is only used when loading summaries.
+     */
+    public void setIndexFile(final File indexFile) {
+        this.indexFile = indexFile;
+    }
+
     /**
      * Load the user stories from the XML test results in a specified directory.
      * Test results will be split across user stories if the user stories are specified in the 
@@ -37,8 +92,6 @@ public class UserStoryLoader {
     public List<StoryTestResults> loadFrom(final File reportDirectory) throws IOException {
 
         List<StoryTestResults> stories = new ArrayList<StoryTestResults>();
-        
-        XMLTestOutcomeReporter testOutcomeReporter = new XMLTestOutcomeReporter();
 
         File[] reportFiles = getAllXMLFilesFrom(reportDirectory);
 
@@ -47,21 +100,79 @@ public class UserStoryLoader {
             return stories;
         }
 
-        for (File reportFile : reportFiles) {
-            try {
-                TestOutcome testOutcome = testOutcomeReporter.loadReportFrom(reportFile);
-                if (testOutcome.getUserStory() != null) {
-                    StoryTestResults storyResults = userStoryResultsFor(testOutcome, stories);
-                    storyResults.recordTestRun(testOutcome);
-                }
-            } catch (NotAThucydidesReportException e) {
-                LOGGER.info("Skipping XML file - not a Thucydides report: " + reportFile);
+        for (TestOutcome testOutcome : loadTestOutcomesFrom(reportFiles)) {
+            if (testOutcome.getUserStory() != null) {
+                StoryTestResults storyResults = userStoryResultsFor(testOutcome, stories);
+                storyResults.recordTestRun(testOutcome);
             }
         }
         
         return stories;
     }
 
+    private List<TestOutcome> loadTestOutcomesFrom(final File[] reportFiles) throws IOException {
+        TestOutcomeIndex index = null;
+        if (isSummaryOnly() && (getIndexFile() != null)) {
+            index = TestOutcomeIndex.loadFrom(getIndexFile());
+        }
+
+        List<TestOutcome> testOutcomes = new ArrayList<TestOutcome>();
+        for (TestOutcome testOutcome : loadAllTestOutcomesFrom(reportFiles, index)) {
+            if (testOutcome != null) {
+                testOutcomes.add(testOutcome);
+            }
+        }
+
+        if (index != null) {
+            index.save();
+        }
+        return testOutcomes;
+    }
+
+    private List<TestOutcome> loadAllTestOutcomesFrom(final File[] reportFiles,
+                                                      final TestOutcomeIndex index) throws IOException {
+        final XMLTestOutcomeReporter testOutcomeReporter = new XMLTestOutcomeReporter();
+        List<Callable<TestOutcome>> loadingTasks = new ArrayList<Callable<TestOutcome>>();
+        for (final File reportFile : reportFiles) {
+            loadingTasks.add(new Callable<TestOutcome>() {
+                public TestOutcome call() throws IOException {
+                    return loadTestOutcomeFrom(reportFile, testOutcomeReporter, index);
+                }
+            });
+        }
+        return new ParallelTaskRunner("report-loader", getThreadCount()).runAll(loadingTasks);
+    }
+
+    /**
+     * Returns null if the file is not a Thucydides report.
+     * The XML reporter creates a new reader for each file, and the index is synchronized,
+     * so both can be shared between threads.
+     */
+    private TestOutcome loadTestOutcomeFrom(final File reportFile,
+                                            final XMLTestOutcomeReporter testOutcomeReporter,
+                                            final TestOutcomeIndex index) throws IOException {
+        if ((index != null) && index.isUpToDateFor(reportFile)) {
+            return index.getSummaryFor(reportFile);
+        }
+        try {
+            if (isSummaryOnly()) {
+                TestOutcomeSummary summary = testOutcomeReporter.loadReportSummaryFrom(reportFile);
+                if (index != null) {
+                    index.recordSummaryFor(reportFile, summary);
+                }
+                return summary;
+            } else {
+                return testOutcomeReporter.loadReportFrom(reportFile);
+            }
+        } catch (NotAThucydidesReportException e) {
+            LOGGER.info("Skipping XML file - not a Thucydides report: " + reportFile);
+            if (index != null) {
+                index.recordNonReport(reportFile);
+            }
+            return null;
+        }
+    }
+
     
     private StoryTestResults userStoryResultsFor(final TestOutcome testOutcome,
                                                  final List<StoryTestResults> storyResults) {
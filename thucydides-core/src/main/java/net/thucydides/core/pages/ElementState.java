@@ -0,0 +1,84 @@
+package net.thucydides.core.pages;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The state of a web element at a given moment, as read in a single batch by
+ * JavaScriptExecutorFacade.getElementStates(). An element that could not be found is not present,
+ * and is neither displayed, enabled nor selected.
+ */
+public class ElementState {
+
+    private static final ElementState ABSENT
+            = new ElementState(false, false, false, false, null, null, Collections.<String, String>emptyMap());
+
+    private final boolean present;
+    private final boolean displayed;
+    private final boolean enabled;
+    private final boolean selected;
+    private final String text;
+    private final String value;
+    private final Map<String, String> attributes;
+
+    public ElementState(final boolean displayed, final boolean enabled, final boolean selected,
+                        final String text, final String value, final Map<String, String> attributes) {
+        this(true, displayed, enabled, selected, text, value, attributes);
+    }
+
+    private ElementState(final boolean present, final boolean displayed, final boolean enabled,
+                         final boolean selected, final String text, final String value,
+                         final Map<String, String> attributes) {
+        this.present = present;
+        this.displayed = displayed;
+        this.enabled = enabled;
+        this.selected = selected;
+        this.text = text;
+        this.value = value;
+        this.attributes = Collections.unmodifiableMap(attributes);
+    }
+
+    public static ElementState absent() {
+        return ABSENT;
+    }
+
+    public boolean isPresent() {
+        return present;
+    }
+
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * True for selected options and checked checkboxes or radio buttons.
+     */
+    public boolean isSelected() {
+        return selected;
+    }
+
+    /**
+     * The trimmed text of the element. As with WebElement.getText(), it is empty if the element is not displayed.
+     * Browsers that do not support innerText report the text of hidden child elements too, which
+     * WebElement.getText() would leave out.
+     */
+    public String getText() {
+        return text;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * The value of one of the attributes requested when the state was read, or null if the element
+     * does not have this attribute.
+     */
+    public String getAttribute(final String name) {
+        return attributes.get(name);
+    }
+}
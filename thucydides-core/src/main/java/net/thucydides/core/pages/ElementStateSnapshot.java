@@ -0,0 +1,56 @@
+package net.thucydides.core.pages;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The states of a set of web elements, read from the browser in a single round trip.
+ * The states are listed in the same order as the elements or locators they were read for.
+ */
+public class ElementStateSnapshot {
+
+    private final List<ElementState> states;
+
+    public ElementStateSnapshot(final List<ElementState> states) {
+        this.states = Collections.unmodifiableList(states);
+    }
+
+    public ElementState get(final int index) {
+        return states.get(index);
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    public List<ElementState> getStates() {
+        return states;
+    }
+
+    public boolean allDisplayed() {
+        for (ElementState state : states) {
+            if (!state.isDisplayed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean allEnabled() {
+        for (ElementState state : states) {
+            if (!state.isEnabled()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean noneDisplayed() {
+        for (ElementState state : states) {
+            if (state.isDisplayed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
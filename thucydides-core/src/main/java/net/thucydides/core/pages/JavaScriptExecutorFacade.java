@@ -1,8 +1,20 @@
 package net.thucydides.core.pages;
 
+import net.thucydides.core.webdriver.ImmediateElementLookup;
 import net.thucydides.core.webdriver.WebDriverFacade;
+import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Simple encapsulation of Javascript execution.
@@ -10,6 +22,63 @@ import org.openqa.selenium.WebDriver;
 public class JavaScriptExecutorFacade {
     private WebDriver driver;
 
+    private static final String LOCATOR_VALUE_SEPARATOR = ": ";
+
+    private static final String UNSUPPORTED_LOCATOR = "unsupported-locator";
+
+    /**
+     * Reads the state of each target passed in arguments[0], including the attributes named in arguments[1].
+     * A target is either an element, or a locator given as a [type, value] pair, which is resolved in the page.
+     * Each element state is returned as an array: [displayed, enabled, selected, text, value, attribute values],
+     * or as null if a locator does not match any element. If the browser cannot resolve a locator itself
+     * (older browsers have no CSS selector or XPath support), UNSUPPORTED_LOCATOR is returned instead.
+     * Like WebElement.getText(), the text of an element that is not displayed is empty.
+     */
+    private static final String ELEMENT_STATE_SCRIPT =
+            "var targets = arguments[0], attributeNames = arguments[1], states = [];"
+          + "function locate(t) {"
+          + "  if (t.nodeType) { return t; }"
+          + "  var type = t[0], value = t[1], found = null;"
+          + "  if (type == 'id') { found = document.getElementById(value); }"
+          + "  else if (type == 'tagName') { found = document.getElementsByTagName(value)[0]; }"
+          + "  else if ((type == 'css') && document.querySelector) { found = document.querySelector(value); }"
+          + "  else if ((type == 'xpath') && document.evaluate) {"
+          + "    found = document.evaluate(value, document, null, 9, null).singleNodeValue;"
+          + "  }"
+          + "  else if ((type == 'className') && document.getElementsByClassName) {"
+          + "    found = document.getElementsByClassName(value)[0];"
+          + "  }"
+          + "  else { return '" + UNSUPPORTED_LOCATOR + "'; }"
+          + "  return (found && found.nodeType == 1) ? found : null;"
+          + "}"
+          + "function styleOf(e) {"
+          + "  return window.getComputedStyle ? window.getComputedStyle(e, null) : e.currentStyle;"
+          + "}"
+          + "function isDisplayed(e) {"
+          + "  if ((e.tagName == 'INPUT') && (String(e.type).toLowerCase() == 'hidden')) { return false; }"
+          + "  var style = styleOf(e);"
+          + "  if (style && style.visibility == 'hidden') { return false; }"
+          + "  for (var n = e; n && n.nodeType == 1; n = n.parentNode) {"
+          + "    var nodeStyle = styleOf(n);"
+          + "    if (nodeStyle && nodeStyle.display == 'none') { return false; }"
+          + "  }"
+          + "  return (e.offsetWidth > 0) || (e.offsetHeight > 0);"
+          + "}"
+          + "for (var i = 0; i < targets.length; i++) {"
+          + "  var e = locate(targets[i]);"
+          + "  if (!e || !e.nodeType) { states.push(e); continue; }"
+          + "  var displayed = isDisplayed(e);"
+          + "  var text = displayed ? ((e.innerText !== undefined) ? e.innerText : e.textContent) : '';"
+          + "  var attributes = [];"
+          + "  for (var j = 0; j < attributeNames.length; j++) {"
+          + "    attributes.push(e.getAttribute(attributeNames[j]));"
+          + "  }"
+          + "  states.push([displayed, !e.disabled, !!(e.selected || e.checked),"
+          + "               text ? String(text).replace(/^\\s+|\\s+$/g, '') : '',"
+          + "               (e.value !== undefined) ? String(e.value) : null, attributes]);"
+          + "}"
+          + "return states;";
+
     public JavaScriptExecutorFacade(final WebDriver driver) {
         this.driver = driver;
     }
@@ -20,9 +89,160 @@ public class JavaScriptExecutorFacade {
      * @return
      */
     public Object executeScript(final String script) {
-        WebDriverFacade driverFacade = (WebDriverFacade) driver;
-        JavascriptExecutor js = (JavascriptExecutor) driverFacade.getProxiedDriver();
-        return js.executeScript(script);
+        return getJavascriptExecutor().executeScript(script);
+    }
+
+    /**
+     * Execute some Javascript in the underlying WebDriver driver, with the given arguments.
+     */
+    public Object executeScript(final String script, final Object... args) {
+        return getJavascriptExecutor().executeScript(script, args);
     }
 
+    private JavascriptExecutor getJavascriptExecutor() {
+        if (driver instanceof WebDriverFacade) {
+            return (JavascriptExecutor) ((WebDriverFacade) driver).getProxiedDriver();
+        }
+        return (JavascriptExecutor) driver;
+    }
+
+    /**
+     * Read the state of several elements in a single round trip to the browser, rather than one or more
+     * round trips per element. Elements that cannot be found are reported as not present,
+     * and are not sent to the browser.
+     */
+    public ElementStateSnapshot getElementStates(final List<WebElement> elements, final List<String> attributeNames) {
+        List<Object> targets = new ArrayList<Object>(elements.size());
+        for (WebElement element : elements) {
+            targets.add(unwrapped(element));
+        }
+        return new ElementStateSnapshot(statesOf(targets, attributeNames));
+    }
+
+    /**
+     * Read the state of the first element matching each locator. Locators by id, CSS selector, XPath,
+     * class name or tag name are resolved in the browser, by the same script that reads the states,
+     * so the whole query is a single round trip. Other locators, or locators the browser cannot resolve
+     * itself, are looked up through WebDriver, which costs extra round trips.
+     * Locators that do not match any element are reported as not present.
+     */
+    public ElementStateSnapshot getElementStatesFor(final List<By> locators, final List<String> attributeNames) {
+        List<Object> targets = new ArrayList<Object>(locators.size());
+        for (By locator : locators) {
+            List<String> scriptLocator = scriptLocatorFor(locator);
+            targets.add((scriptLocator != null) ? scriptLocator : firstElementMatching(locator));
+        }
+        List<ElementState> states = statesOf(targets, attributeNames);
+        if (states.contains(null)) {
+            List<Object> unresolvedTargets = new ArrayList<Object>(locators.size());
+            for (int i = 0; i < states.size(); i++) {
+                unresolvedTargets.add((states.get(i) == null) ? firstElementMatching(locators.get(i)) : null);
+            }
+            List<ElementState> resolvedStates = statesOf(unresolvedTargets, attributeNames);
+            for (int i = 0; i < states.size(); i++) {
+                if (states.get(i) == null) {
+                    states.set(i, resolvedStates.get(i));
+                }
+            }
+        }
+        return new ElementStateSnapshot(states);
+    }
+
+    /**
+     * The [type, value] pair used to find an element in the element state script, or null if the locator
+     * can only be resolved through WebDriver. The value is taken from the description of the locator.
+     */
+    private List<String> scriptLocatorFor(final By locator) {
+        String type = null;
+        if (locator instanceof By.ById) {
+            type = "id";
+        } else if (locator instanceof By.ByCssSelector) {
+            type = "css";
+        } else if (locator instanceof By.ByXPath) {
+            type = "xpath";
+        } else if (locator instanceof By.ByClassName) {
+            type = "className";
+        } else if (locator instanceof By.ByTagName) {
+            type = "tagName";
+        }
+        String description = locator.toString();
+        int separator = description.indexOf(LOCATOR_VALUE_SEPARATOR);
+        if ((type == null) || (separator < 0)) {
+            return null;
+        }
+        return Arrays.asList(type, description.substring(separator + LOCATOR_VALUE_SEPARATOR.length()));
+    }
+
+    private WebElement firstElementMatching(final By locator) {
+        List<WebElement> matchingElements = driver.findElements(locator);
+        return matchingElements.isEmpty() ? null : matchingElements.get(0);
+    }
+
+    /**
+     * The states of the targets, in order. Targets that could not be found are absent, and the state is null
+     * for locators that the browser could not resolve itself.
+     */
+    private List<ElementState> statesOf(final List<Object> targets, final List<String> attributeNames) {
+        List<Object> targetsToRead = new ArrayList<Object>(targets.size());
+        for (Object target : targets) {
+            if (target != null) {
+                targetsToRead.add(target);
+            }
+        }
+        List<?> results = targetsToRead.isEmpty() ? new ArrayList<Object>()
+                : (List<?>) executeScript(ELEMENT_STATE_SCRIPT, targetsToRead, attributeNames);
+        List<ElementState> states = new ArrayList<ElementState>(targets.size());
+        int nextResult = 0;
+        for (Object target : targets) {
+            Object result = (target != null) ? results.get(nextResult++) : null;
+            if (UNSUPPORTED_LOCATOR.equals(result)) {
+                states.add(null);
+            } else if (result != null) {
+                states.add(elementStateFrom((List<?>) result, attributeNames));
+            } else {
+                states.add(ElementState.absent());
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Page object fields are proxies that find their element when they are used: the script needs the element.
+     * The element is looked up straight away, without waiting for it to be displayed, since the snapshot
+     * reports on the current state of the page.
+     */
+    private WebElement unwrapped(final WebElement element) {
+        if (element == null) {
+            return null;
+        }
+        ImmediateElementLookup.enter();
+        try {
+            return (element instanceof WrapsElement) ? ((WrapsElement) element).getWrappedElement() : element;
+        } catch (NoSuchElementException e) {
+            return null;
+        } catch (StaleElementReferenceException e) {
+            return null;
+        } finally {
+            ImmediateElementLookup.exit();
+        }
+    }
+
+    private ElementState elementStateFrom(final List<?> result, final List<String> attributeNames) {
+        List<?> attributeValues = (List<?>) result.get(5);
+        Map<String, String> attributes = new HashMap<String, String>();
+        for (int i = 0; i < attributeNames.size(); i++) {
+            Object attributeValue = attributeValues.get(i);
+            attributes.put(attributeNames.get(i), (attributeValue != null) ? attributeValue.toString() : null);
+        }
+        return new ElementState(Boolean.TRUE.equals(result.get(0)),
+                                Boolean.TRUE.equals(result.get(1)),
+                                Boolean.TRUE.equals(result.get(2)),
+                                stringValueOf(result.get(3)),
+                                stringValueOf(result.get(4)),
+                                attributes);
+    }
+
+    private String stringValueOf(final Object value) {
+        return (value != null) ? value.toString() : null;
+    }
 }
@@ -23,6 +23,7 @@ import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -524,6 +525,32 @@ public abstract class PageObject {
         return js.executeScript(script);
     }
 
+    /**
+     * Read the displayed, enabled, selected, text and value states of several elements in a single
+     * round trip to the browser, which is much faster than checking each element in turn.
+     */
+    public ElementStateSnapshot elementStatesOf(final WebElement... webElements) {
+        return elementStatesOf(Arrays.asList(webElements));
+    }
+
+    /**
+     * Read the states of several elements in a single round trip to the browser, including the named attributes.
+     */
+    public ElementStateSnapshot elementStatesOf(final List<WebElement> webElements, final String... attributeNames) {
+        JavaScriptExecutorFacade js = new JavaScriptExecutorFacade(driver);
+        return js.getElementStates(webElements, Arrays.asList(attributeNames));
+    }
+
+    /**
+     * Read the states of the first element matching each locator. Locators by id, CSS selector, XPath,
+     * class name or tag name are resolved in the same script call; other locators cost one extra lookup each.
+     * Locators that do not match any element are reported as not present.
+     */
+    public ElementStateSnapshot elementStatesOf(final By... locators) {
+        JavaScriptExecutorFacade js = new JavaScriptExecutorFacade(driver);
+        return js.getElementStatesFor(Arrays.asList(locators), new ArrayList<String>());
+    }
+
     public Wait<WebDriver> waitForCondition() {
         return new FluentWait<WebDriver>(driver, webdriverClock, sleeper)
                 .withTimeout(waitForTimeout, TimeUnit.SECONDS)
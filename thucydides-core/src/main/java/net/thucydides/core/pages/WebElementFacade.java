@@ -1,5 +1,6 @@
 package net.thucydides.core.pages;
 
+import net.thucydides.core.webdriver.ImmediateElementLookup;
 import org.openqa.selenium.ElementNotVisibleException;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.NoSuchElementException;
@@ -82,16 +83,24 @@ public class WebElementFacade {
      * by a method called "isCurrently*" and, if so, fail immediately without waiting as it would normally do.
      */
     public boolean isCurrentlyVisible() {
-        return isVisible();
+        ImmediateElementLookup.enter();
+        try {
+            return isVisible();
+        } finally {
+            ImmediateElementLookup.exit();
+        }
     }
 
     public boolean isCurrentlyEnabled() {
+        ImmediateElementLookup.enter();
         try {
             return webElement.isEnabled();
         } catch (NoSuchElementException e) {
             return false;
         } catch (StaleElementReferenceException se) {
             return false;
+        } finally {
+            ImmediateElementLookup.exit();
         }
     }
 
@@ -302,10 +311,13 @@ public class WebElementFacade {
     }
 
     public WebElementFacade waitUntilVisible() {
+        ImmediateElementLookup.enter();
         try {
             waitForCondition().until(elementIsDisplayed());
         } catch (TimeoutException timeout) {
             throwErrorWithCauseIfPresent(timeout, timeout.getMessage());
+        } finally {
+            ImmediateElementLookup.exit();
         }
         return this;
     }
@@ -379,12 +391,15 @@ public class WebElementFacade {
     }
 
     public WebElementFacade waitUntilEnabled() {
+        ImmediateElementLookup.enter();
         try {
 
             waitForCondition().until(elementIsEnabled());
             return this;
         } catch (TimeoutException timeout) {
             throw new ElementNotVisibleException("Expected enabled element was not enabled", timeout);
+        } finally {
+            ImmediateElementLookup.exit();
         }
     }
 
@@ -1,15 +1,14 @@
 package net.thucydides.core.reports.html;
 
-import ch.lambdaj.function.convert.Converter;
 import com.google.common.base.Preconditions;
 import net.thucydides.core.ThucydidesSystemProperty;
-import net.thucydides.core.images.ResizableImage;
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.images.ImageInfoCache;
+import net.thucydides.core.images.SimpleImageInfo;
 import net.thucydides.core.model.Screenshot;
 import net.thucydides.core.model.TestOutcome;
 import net.thucydides.core.reports.AcceptanceTestReporter;
-import net.thucydides.core.reports.html.screenshots.ScreenshotFormatter;
-import net.thucydides.core.screenshots.ScreenshotException;
-import org.slf4j.LoggerFactory;
+import net.thucydides.core.reports.html.screenshots.ScreenshotProcessor;
 
 import java.io.File;
 import java.io.IOException;
@@ -17,7 +16,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import static ch.lambdaj.Lambda.convert;
 import static net.thucydides.core.model.ReportNamer.ReportType.HTML;
 
 /**
@@ -30,16 +28,17 @@ public class HtmlAcceptanceTestReporter extends HtmlReporter implements Acceptan
     private static final String DEFAULT_ACCEPTANCE_TEST_SCREENSHOT = "freemarker/screenshots.ftl";
     private static final int MAXIMUM_SCREENSHOT_WIDTH = 1000;
 
-    private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(HtmlAcceptanceTestReporter.class);
-
     private String qualifier;
 
+    private final ScreenshotProcessor screenshotProcessor;
+
 
     public void setQualifier(final String qualifier) {
         this.qualifier = qualifier;
     }
 
     public HtmlAcceptanceTestReporter() {
+        screenshotProcessor = Injectors.getInjector().getInstance(ScreenshotProcessor.class);
     }
 
     public String getName() {
@@ -56,14 +55,12 @@ public class HtmlAcceptanceTestReporter extends HtmlReporter implements Acceptan
         Map<String,Object> context = new HashMap<String,Object>();
         addTestOutcomeToContext(testOutcome, context);
         addFormattersToContext(context);
-        String htmlContents = mergeTemplate(DEFAULT_ACCEPTANCE_TEST_REPORT).usingContext(context);
-
         copyResourcesToOutputDirectory();
 
         generateScreenshotReportsFor(testOutcome);
 
         String reportFilename = reportFor(testOutcome);
-        return writeReportToOutputDirectory(reportFilename, htmlContents);
+        return mergeTemplate(DEFAULT_ACCEPTANCE_TEST_REPORT).intoReport(reportFilename, context);
     }
 
     private void addTestOutcomeToContext(final TestOutcome testOutcome, final Map<String,Object> context) {
@@ -87,48 +84,36 @@ public class HtmlAcceptanceTestReporter extends HtmlReporter implements Acceptan
         Map<String,Object> context = new HashMap<String,Object>();
         context.put("screenshots", screenshots);
         context.put("testOutcome", testOutcome);
-        String htmlContents = mergeTemplate(DEFAULT_ACCEPTANCE_TEST_SCREENSHOT).usingContext(context);
-        writeReportToOutputDirectory(screenshotReport, htmlContents);
+        mergeTemplate(DEFAULT_ACCEPTANCE_TEST_SCREENSHOT).intoReport(screenshotReport, context);
 
     }
 
     private List<Screenshot> expandScreenshots(List<Screenshot> screenshots) throws IOException {
-        return convert(screenshots, new ExpandedScreenshotConverter(maxScreenshotHeightIn(screenshots)));
+        return screenshotProcessor.expandToHeight(screenshots, getOutputDirectory(), maxScreenshotHeightIn(screenshots));
     }
 
-    private class ExpandedScreenshotConverter implements Converter<Screenshot, Screenshot> {
-        private final int maxHeight;
-
-        public ExpandedScreenshotConverter(int maxHeight) {
-            this.maxHeight = maxHeight;
-        }
-
-        public Screenshot convert(Screenshot screenshot) {
-            try {
-                return ScreenshotFormatter.forScreenshot(screenshot)
-                                          .inDirectory(getOutputDirectory())
-                                          .expandToHeight(maxHeight);
-            } catch (IOException e) {
-                LOGGER.error("Failed to write scaled screenshot for {}: {}", screenshot, e);
-                throw new ScreenshotException("Failed to write scaled screenshot", e);
-            }
-        }
-    };
-
     private int maxScreenshotHeightIn(List<Screenshot> screenshots) throws IOException {
         int maxHeight = 0;
         for (Screenshot screenshot : screenshots) {
-            File screenshotFile = new File(getOutputDirectory(),screenshot.getFilename());
-            if (screenshotFile.exists()) {
-                maxHeight = maxHeightOf(maxHeight, screenshotFile);
+            if ((screenshot.getWidth() > 0) && (screenshot.getHeight() > 0)) {
+                maxHeight = maxHeightOf(maxHeight, screenshot.getWidth(), screenshot.getHeight());
+            } else {
+                File screenshotFile = new File(getOutputDirectory(),screenshot.getFilename());
+                if (screenshotFile.exists()) {
+                    maxHeight = maxHeightOf(maxHeight, screenshotFile);
+                }
             }
         }
         return maxHeight;
     }
 
     private int maxHeightOf(int maxHeight, File screenshotFile) throws IOException {
-        int height = ResizableImage.loadFrom(screenshotFile).getHeight();
-        int width = ResizableImage.loadFrom(screenshotFile).getWitdh();
+        SimpleImageInfo imageInfo = ImageInfoCache.imageInfoFor(screenshotFile);
+        return maxHeightOf(maxHeight, imageInfo.getWidth(), imageInfo.getHeight());
+    }
+
+    private int maxHeightOf(int maxHeight, final int width, final int imageHeight) {
+        int height = imageHeight;
         if (width > MAXIMUM_SCREENSHOT_WIDTH) {
             height = (int) ((height * 1.0) * (MAXIMUM_SCREENSHOT_WIDTH * 1.0 / width));
         }
@@ -13,14 +13,18 @@ import net.thucydides.core.reports.history.TestHistory;
 import net.thucydides.core.reports.html.history.TestResultSnapshot;
 import net.thucydides.core.reports.json.JSONProgressResultTree;
 import net.thucydides.core.reports.json.JSONResultTree;
+import net.thucydides.core.reports.xml.TestOutcomeIndex;
+import net.thucydides.core.util.ParallelTaskRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import static net.thucydides.core.model.ReportNamer.ReportType.HTML;
 
@@ -41,21 +45,38 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     private static final String PROGRESS_DATA_TEMPLATE_PATH = "freemarker/progress.ftl";
     private static final String HOME_TEMPLATE_PATH = "freemarker/index.ftl";
     private static final String DASHBOARD_TEMPLATE_PATH = "freemarker/dashboard.ftl";
+    private static final int AVAILABLE_PROCESSORS = Runtime.getRuntime().availableProcessors();
     private FeatureLoader featureLoader;
     private UserStoryLoader storyLoader;
     private TestHistory testHistory;
     private String projectName;
+    private int renderingThreadCount;
 
     public HtmlAggregateStoryReporter(final String projectName) {
         storyLoader = new UserStoryLoader();
+        storyLoader.setSummaryOnly(true);
         featureLoader = new FeatureLoader();
         this.projectName = projectName;
+        this.renderingThreadCount
+                = ThucydidesSystemProperty.getIntegerValue(ThucydidesSystemProperty.REPORT_RENDERING_THREADS,
+                                                           AVAILABLE_PROCESSORS);
     }
 
     public String getProjectName() {
         return projectName;
     }
 
+    public int getRenderingThreadCount() {
+        return renderingThreadCount;
+    }
+
+    /**
+     * How many user story or feature pages can be rendered at the same time. Use 1 to render them sequentially.
+     */
+    public void setRenderingThreadCount(final int renderingThreadCount) {
+        this.renderingThreadCount = renderingThreadCount;
+    }
+
     protected TestHistory getTestHistory() {
         if (testHistory == null) {
             testHistory = new TestHistory(getProjectName());
@@ -67,19 +88,32 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
      * Returns the list of
      */
     public File generateReportFor(final StoryTestResults storyTestResults) throws IOException {
-        
+        File report = generateUserStoryPageFor(storyTestResults);
+        copyResourcesToOutputDirectory();
+        return report;
+    }
+
+    private File generateUserStoryPageFor(final StoryTestResults storyTestResults) throws IOException {
         LOGGER.info("Generating report for user story "
                     + storyTestResults.getTitle() + " to " + getOutputDirectory());
 
         Map<String, Object> context = new HashMap<String, Object>();
         context.put("story", storyTestResults);
         addFormattersToContext(context);
-        String htmlContents = mergeTemplate(DEFAULT_USER_STORY_TEMPLATE).usingContext(context);
-
-        copyResourcesToOutputDirectory();
-
         String reportFilename = storyTestResults.getReportName(HTML);
-        return writeReportToOutputDirectory(reportFilename, htmlContents);
+        return mergeTemplate(DEFAULT_USER_STORY_TEMPLATE).intoReport(reportFilename, context);
+    }
+
+    private void generateUserStoryPagesFor(final List<StoryTestResults> storyResults) throws IOException {
+        List<Callable<File>> pageGenerationTasks = new ArrayList<Callable<File>>();
+        for (final StoryTestResults storyTestResults : storyResults) {
+            pageGenerationTasks.add(new Callable<File>() {
+                public File call() throws IOException {
+                    return generateUserStoryPageFor(storyTestResults);
+                }
+            });
+        }
+        new ParallelTaskRunner("report-generator", getRenderingThreadCount()).runAll(pageGenerationTasks);
     }
 
     private void addFormattersToContext(final Map<String, Object> context) {
@@ -88,15 +122,18 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         context.put("formatted", new NumericalFormatter());
     }
 
+    /**
+     * Generate the aggregate reports for the XML test reports in the source directory.
+     * A summary of each test outcome is kept in an index in the output directory, so only the reports that have
+     * changed since the previous aggregation are parsed.
+     */
     public ThucydidesReportData generateReportsForStoriesFrom(final File sourceDirectory) throws IOException {
         List<StoryTestResults> storyResults = loadStoryResultsFrom(sourceDirectory);
-        List<FeatureResults> featureResults = loadFeatureResultsFrom(sourceDirectory);
+        List<FeatureResults> featureResults = featureLoader.getFeatureResultsFor(storyResults);
 
         copyResourcesToOutputDirectory();
 
-        for(StoryTestResults storyTestResults : storyResults) {
-            generateReportFor(storyTestResults);
-        }
+        generateUserStoryPagesFor(storyResults);
 
         generateAggregateReportFor(storyResults, featureResults);
 
@@ -104,13 +141,10 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     }
 
     private List<StoryTestResults> loadStoryResultsFrom(final File sourceDirectory) throws IOException {
+        storyLoader.setIndexFile(new File(getOutputDirectory(), TestOutcomeIndex.INDEX_FILENAME));
         return storyLoader.loadFrom(sourceDirectory);
     }
 
-    private List<FeatureResults> loadFeatureResultsFrom(final File sourceDirectory) throws IOException {
-        return featureLoader.loadFrom(sourceDirectory);
-    }
-
     private void generateAggregateReportFor(final List<StoryTestResults> storyResults,
                                             final List<FeatureResults> featureResults) throws IOException {
         LOGGER.info("Generating summary report for user stories to "+ getOutputDirectory());
@@ -135,9 +169,8 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         context.put("history", history);
         context.put("rowcount", history.size());
         addFormattersToContext(context);
-        String htmlContents = mergeTemplate(HISTORY_TEMPLATE_PATH).usingContext(context);
         LOGGER.debug("Writing history page");
-        writeReportToOutputDirectory("history.html", htmlContents);
+        mergeTemplate(HISTORY_TEMPLATE_PATH).intoReport("history.html", context);
 
     }
 
@@ -145,25 +178,28 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         Map<String, Object> context = new HashMap<String, Object>();
         addFormattersToContext(context);
         context.put("features", featureResults);
-        String htmlContents = mergeTemplate(FEATURES_TEMPLATE_PATH).usingContext(context);
-        writeReportToOutputDirectory("features.html", htmlContents);
-
-        for(FeatureResults feature : featureResults) {
-            generateStoryReportForFeature(feature);
+        mergeTemplate(FEATURES_TEMPLATE_PATH).intoReport("features.html", context);
+
+        List<Callable<File>> pageGenerationTasks = new ArrayList<Callable<File>>();
+        for (final FeatureResults feature : featureResults) {
+            pageGenerationTasks.add(new Callable<File>() {
+                public File call() throws IOException {
+                    return generateStoryReportForFeature(feature);
+                }
+            });
         }
+        new ParallelTaskRunner("report-generator", getRenderingThreadCount()).runAll(pageGenerationTasks);
     }
 
-    private void generateStoryReportForFeature(FeatureResults feature) throws IOException {
+    private File generateStoryReportForFeature(final FeatureResults feature) throws IOException {
         Map<String, Object> context = new HashMap<String, Object>();
 
         context.put("stories", feature.getStoryResults());
         context.put("storyContext", feature.getFeature().getName() );
         addFormattersToContext(context);
         LOGGER.debug("Generating stories page");
-        String htmlContents = mergeTemplate(STORIES_TEMPLATE_PATH).usingContext(context);
-        LOGGER.debug("Writing stories page");
         String filename = feature.getStoryReportName();
-        writeReportToOutputDirectory(filename, htmlContents);
+        return mergeTemplate(STORIES_TEMPLATE_PATH).intoReport(filename, context);
     }
 
     private void generateStoriesReport(final List<StoryTestResults> storyResults) throws IOException {
@@ -171,9 +207,8 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         context.put("stories", storyResults);
         context.put("storyContext", "All stories");
         addFormattersToContext(context);
-        String htmlContents = mergeTemplate(STORIES_TEMPLATE_PATH).usingContext(context);
         LOGGER.debug("Writing stories page");
-        writeReportToOutputDirectory("stories.html", htmlContents);
+        mergeTemplate(STORIES_TEMPLATE_PATH).intoReport("stories.html", context);
     }
 
     private void generateReportHomePage(final List<StoryTestResults> storyResults,
@@ -195,8 +230,7 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     private void generateReportPage(final Map<String, Object> context,
                                     final String template,
                                     final String outputFile) throws IOException {
-        String htmlContents = mergeTemplate(template).usingContext(context);
-        writeReportToOutputDirectory(outputFile, htmlContents);
+        mergeTemplate(template).intoReport(outputFile, context);
     }
 
     private void generateCoverageData(final List<FeatureResults> featureResults) throws IOException {
@@ -210,8 +244,7 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         context.put("coverageData", resultTree.toJSON());
         addFormattersToContext(context);
 
-        String javascriptCoverageData = mergeTemplate(COVERAGE_DATA_TEMPLATE_PATH).usingContext(context);
-        writeReportToOutputDirectory("coverage.js", javascriptCoverageData);
+        mergeTemplate(COVERAGE_DATA_TEMPLATE_PATH).intoReport("coverage.js", context);
     }
 
     private void generateProgressData(final List<FeatureResults> featureResults) throws IOException {
@@ -225,8 +258,7 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         context.put("progressData", resultTree.toJSON());
         addFormattersToContext(context);
 
-        String javascriptCoverageData = mergeTemplate(PROGRESS_DATA_TEMPLATE_PATH).usingContext(context);
-        writeReportToOutputDirectory("progress.js", javascriptCoverageData);
+        mergeTemplate(PROGRESS_DATA_TEMPLATE_PATH).intoReport("progress.js", context);
     }
 
     public void setIssueTrackerUrl(String issueTrackerUrl) {
@@ -5,12 +5,16 @@ import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.reports.templates.ReportTemplate;
 import net.thucydides.core.reports.templates.TemplateManager;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Map;
 
 /**
@@ -21,15 +25,18 @@ import java.util.Map;
 public abstract class HtmlReporter {
 
     private static final String DEFAULT_RESOURCE_DIRECTORY = "report-resources";
+    private static final String REPORT_ENCODING = "UTF-8";
     private String resourceDirectory = DEFAULT_RESOURCE_DIRECTORY;
     private File outputDirectory;
     private TemplateManager templateManager;
+    private HtmlResourceCopyManager resourceCopyManager;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HtmlReporter.class);
 
     public HtmlReporter() {
         super();
         templateManager = Injectors.getInjector().getInstance(TemplateManager.class);
+        resourceCopyManager = Injectors.getInjector().getInstance(HtmlResourceCopyManager.class);
     }
 
     private TemplateManager getTemplateManager() {
@@ -60,9 +67,7 @@ public abstract class HtmlReporter {
 
     protected void copyResourcesToOutputDirectory() throws IOException {
         updateResourceDirectoryFromSystemPropertyIfDefined();
-        HtmlResourceCopier copier = new HtmlResourceCopier(getResourceDirectory());
-
-        copier.copyHTMLResourcesTo(getOutputDirectory());
+        resourceCopyManager.copyResourcesTo(getResourceDirectory(), getOutputDirectory());
     }
 
     private void updateResourceDirectoryFromSystemPropertyIfDefined() {
@@ -73,17 +78,6 @@ public abstract class HtmlReporter {
         }
     }
 
-    /**
-     * Write the actual HTML report to a file with the specified name in the output directory.
-     */
-    protected File writeReportToOutputDirectory(final String reportFilename,
-                                                final String htmlContents) throws IOException {
-        File report = new File(getOutputDirectory(), reportFilename);
-        FileUtils.writeStringToFile(report, htmlContents);
-        LOGGER.debug("Writing HTML report to " + report.getAbsolutePath());
-        return report;
-    }
-
     protected Merger mergeTemplate(final String templateFile) {
         return new Merger(templateFile);
     }
@@ -96,11 +90,33 @@ public abstract class HtmlReporter {
         }
 
         public String usingContext(final Map<String, Object> context) {
+            StringWriter sw = new StringWriter();
+            mergeInto(sw, context);
+            return sw.toString();
+        }
+
+        /**
+         * Merge the template and stream the result straight into a report file in the output directory,
+         * rather than building the whole page in memory first.
+         */
+        public File intoReport(final String reportFilename, final Map<String, Object> context) throws IOException {
+            File report = new File(getOutputDirectory(), reportFilename);
+            LOGGER.debug("Writing HTML report to " + report.getAbsolutePath());
+            Writer writer = new BufferedWriter(new OutputStreamWriter(FileUtils.openOutputStream(report),
+                                                                      REPORT_ENCODING));
+            try {
+                mergeInto(writer, context);
+                writer.flush();
+            } finally {
+                IOUtils.closeQuietly(writer);
+            }
+            return report;
+        }
+
+        private void mergeInto(final Writer writer, final Map<String, Object> context) {
             try {
                 ReportTemplate template = getTemplateManager().getTemplateFrom(templateFile);
-                StringWriter sw = new StringWriter();
-                template.merge(context, sw);
-                return sw.toString();
+                template.merge(context, writer);
             } catch (Exception e) {
                 throw new RuntimeException("Failed to merge template", e);
             }
@@ -27,10 +27,12 @@ public class HtmlResourceCopier {
      */
     public void copyHTMLResourcesTo(final File targetDirectory) throws IOException {
 
-        Pattern resourcePattern = allFilesInDirectory(resourceDirectory);
         FileResources fileResource = FileResources.from(resourceDirectory);
 
-        Collection<String> reportResources = ResourceList.getResources(resourcePattern);
+        Collection<String> reportResources = ResourceList.getResourcesIn(resourceDirectory);
+        if (reportResources.isEmpty()) {
+            reportResources = ResourceList.getResources(allFilesInDirectory(resourceDirectory));
+        }
 
         for (String resourcePath : reportResources) {
             if (fileResourceFromAJar(resourcePath)) {
@@ -0,0 +1,120 @@
+package net.thucydides.core.reports.html;
+
+import net.thucydides.core.util.Md5Hashes;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Makes sure the HTML report resources (stylesheets, images, scripts...) are only copied once into each
+ * output directory. Copying the resources means scanning the whole classpath, so once a directory has been
+ * populated, later requests from the same JVM are ignored. A marker file containing a checksum of the resource
+ * bundle is also written to the output directory, so that later runs can skip the copy altogether
+ * if the resources have not changed.
+ */
+public class HtmlResourceCopyManager {
+
+    public static final String RESOURCE_MARKER_FILENAME = "report-resources.checksum";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HtmlResourceCopyManager.class);
+
+    private static final String ENCODING = "UTF-8";
+
+    private final Map<String, String> copiedDirectories = new HashMap<String, String>();
+
+    /**
+     * Copy the resources in the given classpath directory into the target directory, unless they are
+     * already there.
+     */
+    public synchronized void copyResourcesTo(final String resourceDirectory,
+                                             final File targetDirectory) throws IOException {
+        String key = resourceDirectory + "|" + targetDirectory.getCanonicalPath();
+        File marker = new File(targetDirectory, RESOURCE_MARKER_FILENAME);
+        if (alreadyCopied(key, marker)) {
+            return;
+        }
+
+        String checksum = checksumOfResourcesIn(resourceDirectory);
+        if ((checksum != null) && checksum.equals(contentsOf(marker))) {
+            LOGGER.debug("Report resources in {} are up to date", targetDirectory);
+        } else {
+            LOGGER.debug("Copying report resources to {}", targetDirectory);
+            new HtmlResourceCopier(resourceDirectory).copyHTMLResourcesTo(targetDirectory);
+            if (checksum != null) {
+                FileUtils.writeStringToFile(marker, checksum, ENCODING);
+            }
+        }
+        copiedDirectories.put(key, checksum);
+    }
+
+    private boolean alreadyCopied(final String key, final File marker) {
+        if (!copiedDirectories.containsKey(key)) {
+            return false;
+        }
+        return (copiedDirectories.get(key) == null) || marker.exists();
+    }
+
+    private String contentsOf(final File marker) throws IOException {
+        if (!marker.exists()) {
+            return null;
+        }
+        return FileUtils.readFileToString(marker, ENCODING).trim();
+    }
+
+    /**
+     * A checksum based on the location, size and date of the JAR files or directories that hold the
+     * resources. Returns null if the resources cannot be found via the class loader.
+     */
+    private String checksumOfResourcesIn(final String resourceDirectory) throws IOException {
+        Enumeration<URL> resourceLocations = getClass().getClassLoader().getResources(resourceDirectory);
+        if (!resourceLocations.hasMoreElements()) {
+            return null;
+        }
+        MessageDigest digest = Md5Hashes.newDigest();
+        update(digest, resourceDirectory);
+        while (resourceLocations.hasMoreElements()) {
+            URL location = resourceLocations.nextElement();
+            update(digest, location.toString());
+            if (location.getProtocol().equals("jar")) {
+                JarURLConnection connection = (JarURLConnection) location.openConnection();
+                updateWithFile(digest, new File(decoded(connection.getJarFileURL().getPath())));
+            } else if (location.getProtocol().equals("file")) {
+                updateWithFile(digest, new File(decoded(location.getPath())));
+            }
+        }
+        return Md5Hashes.toHex(digest.digest());
+    }
+
+    private void updateWithFile(final MessageDigest digest, final File file) throws UnsupportedEncodingException {
+        update(digest, file.getPath() + ":" + file.length() + ":" + file.lastModified());
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (children != null) {
+                Arrays.sort(children);
+                for (File child : children) {
+                    updateWithFile(digest, child);
+                }
+            }
+        }
+    }
+
+    private void update(final MessageDigest digest, final String value) throws UnsupportedEncodingException {
+        digest.update(value.getBytes(ENCODING));
+    }
+
+    private String decoded(final String path) throws UnsupportedEncodingException {
+        return URLDecoder.decode(path, ENCODING);
+    }
+}
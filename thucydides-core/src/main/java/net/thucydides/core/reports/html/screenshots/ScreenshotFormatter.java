@@ -1,20 +1,21 @@
 package net.thucydides.core.reports.html.screenshots;
 
-import com.google.inject.internal.ImmutableList;
-import mx4j.tools.naming.NamingServiceMBean;
+import net.thucydides.core.images.ImageInfoCache;
 import net.thucydides.core.images.ResizableImage;
+import net.thucydides.core.images.SimpleImageInfo;
 import net.thucydides.core.model.Screenshot;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Class designed to help resize and scale screenshots to a format that is compatible with the Thucydides reports.
  */
 public class ScreenshotFormatter {
 
+    private static final int THUMBNAIL_SIZE = 96;
+    private static final float JPEG_QUALITY = 0.8f;
+
     private final Screenshot screenshot;
     private final File sourceDirectory;
 
@@ -32,23 +33,89 @@ public class ScreenshotFormatter {
     }
 
     public Screenshot expandToHeight(final int targetHeight) throws IOException {
+        return expandToHeight(targetHeight, false);
+    }
+
+    /**
+     * Expand the screenshot straight into a compressed JPEG image, without keeping a scaled PNG copy.
+     */
+    public Screenshot expandToHeightAsJpeg(final int targetHeight) throws IOException {
+        return expandToHeight(targetHeight, true);
+    }
+
+    private Screenshot expandToHeight(final int targetHeight, final boolean asJpeg) throws IOException {
         File screenshotFile = new File(sourceDirectory, screenshot.getFilename());
         if (screenshotFile.exists()) {
-            File resizedFile = resizedImage(screenshotFile, targetHeight);
+            ResizableImage image = ResizableImage.loadFrom(screenshotFile);
+            int scaledHeight = image.getRescaledHeight(targetHeight);
+            File resizedFile = resizedImage(image, screenshotFile, targetHeight, scaledHeight, asJpeg);
             return new Screenshot(resizedFile.getName(),
                                   screenshot.getDescription(),
                                   screenshot.getWidth(),
+                                  scaledHeight,
                                   screenshot.getError());
         } else {
             return screenshot;
         }
     }
 
-    private File resizedImage(File screenshotFile, int maxHeight) throws IOException {
-        ResizableImage scaledImage = ResizableImage.loadFrom(screenshotFile).rescaleCanvas(maxHeight);
-        File scaledFile = new File(sourceDirectory, "scaled_" + screenshotFile.getName());
-        scaledImage.saveTo(scaledFile);
+    /**
+     * Write the small preview of the screenshot displayed in the test reports, unless it is already up to date.
+     * Returns the thumbnail file, or null if the screenshot does not exist.
+     */
+    public File createThumbnail() throws IOException {
+        File screenshotFile = new File(sourceDirectory, screenshot.getFilename());
+        if (!screenshotFile.exists()) {
+            return null;
+        }
+        File thumbnailFile = new File(sourceDirectory, Screenshot.thumbnailFor(screenshotFile.getName()));
+        if (isOlderThan(thumbnailFile, screenshotFile)) {
+            ResizableImage.loadFrom(screenshotFile).saveThumbnailTo(thumbnailFile, THUMBNAIL_SIZE);
+        }
+        return thumbnailFile;
+    }
+
+    private boolean isOlderThan(final File derivedFile, final File screenshotFile) {
+        return !derivedFile.exists() || (derivedFile.lastModified() < screenshotFile.lastModified());
+    }
+
+    private String withoutType(final String filename) {
+        int dot = filename.lastIndexOf('.');
+        return (dot > 0) ? filename.substring(0, dot) : filename;
+    }
+
+    private File resizedImage(final ResizableImage image, final File screenshotFile,
+                              final int maxHeight, final int scaledHeight, final boolean asJpeg) throws IOException {
+        String scaledName = "scaled_" + (asJpeg ? withoutType(screenshotFile.getName()) + ".jpg"
+                                                : screenshotFile.getName());
+        File scaledFile = new File(sourceDirectory, scaledName);
+        if (!isUpToDate(scaledFile, screenshotFile, image.getWitdh(), scaledHeight)) {
+            ResizableImage scaledImage = image.rescaleCanvas(maxHeight);
+            if (asJpeg) {
+                scaledImage.saveAsJpegTo(scaledFile, JPEG_QUALITY);
+            } else {
+                scaledImage.saveTo(scaledFile);
+            }
+            ImageInfoCache.recordImageInfo(scaledFile, image.getWitdh(), scaledHeight);
+        }
         return scaledFile;
     }
+
+    /**
+     * A scaled image can be reused if it is at least as recent as the original screenshot,
+     * and has the expected dimensions (the same screenshot may be expanded to different heights in different reports).
+     */
+    private boolean isUpToDate(final File scaledFile, final File screenshotFile,
+                               final int expectedWidth, final int expectedHeight) {
+        if (!scaledFile.exists() || (scaledFile.lastModified() < screenshotFile.lastModified())) {
+            return false;
+        }
+        try {
+            SimpleImageInfo scaledImageInfo = ImageInfoCache.imageInfoFor(scaledFile);
+            return (scaledImageInfo.getWidth() == expectedWidth) && (scaledImageInfo.getHeight() == expectedHeight);
+        } catch (IOException e) {
+            return false;
+        }
+    }
 }
 
@@ -0,0 +1,172 @@
+package net.thucydides.core.reports.html.screenshots;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.model.Screenshot;
+import net.thucydides.core.screenshots.ScreenshotException;
+import net.thucydides.core.util.NamedThreadFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Prepares the screenshots displayed in the HTML reports on a pool of worker threads: each screenshot gets
+ * a thumbnail, and is rescaled to the height of the tallest screenshot in the test. If the
+ * thucydides.report.jpeg.screenshots property is set, the rescaled screenshots are saved as JPEG images
+ * instead of PNG files.
+ * Each screenshot file is only processed once for a given height, even if it is shared by several steps,
+ * or by reports being generated at the same time, and never by two threads at once. Images that are already up to date are not rewritten.
+ */
+public class ScreenshotProcessor {
+
+    private static final int AVAILABLE_PROCESSORS = Runtime.getRuntime().availableProcessors();
+
+    private final int threadCount;
+
+    private ExecutorService workers;
+
+    private final ConcurrentMap<String, Expansion> screenshotsInProgress = new ConcurrentHashMap<String, Expansion>();
+
+    public ScreenshotProcessor() {
+        this(ThucydidesSystemProperty.getIntegerValue(ThucydidesSystemProperty.SCREENSHOT_PROCESSING_THREADS,
+                                                      AVAILABLE_PROCESSORS));
+    }
+
+    /**
+     * With a single thread, the screenshots are processed in the calling thread.
+     */
+    public ScreenshotProcessor(final int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Expand each screenshot to the given height, in a scaled copy of the image stored in the same directory.
+     * The expanded screenshots are returned in the same order.
+     */
+    public List<Screenshot> expandToHeight(final List<Screenshot> screenshots,
+                                           final File directory,
+                                           final int targetHeight) throws IOException {
+        boolean convertToJpeg
+                = ThucydidesSystemProperty.getBooleanValue(ThucydidesSystemProperty.REPORT_JPEG_SCREENSHOTS, false);
+        Map<String, Future<Screenshot>> expandedScreenshotFiles = new LinkedHashMap<String, Future<Screenshot>>();
+        for (Screenshot screenshot : screenshots) {
+            if (!expandedScreenshotFiles.containsKey(screenshot.getFilename())) {
+                expandedScreenshotFiles.put(screenshot.getFilename(),
+                                            expand(screenshot, directory, targetHeight, convertToJpeg));
+            }
+        }
+        List<Screenshot> expandedScreenshots = new ArrayList<Screenshot>();
+        for (Screenshot screenshot : screenshots) {
+            Screenshot expandedScreenshotFile = waitFor(expandedScreenshotFiles.get(screenshot.getFilename()));
+            expandedScreenshots.add(withFileFrom(screenshot, expandedScreenshotFile));
+        }
+        return expandedScreenshots;
+    }
+
+    private Screenshot withFileFrom(final Screenshot screenshot, final Screenshot expandedScreenshotFile) {
+        if (expandedScreenshotFile.getFilename().equals(screenshot.getFilename())) {
+            return screenshot;
+        }
+        return new Screenshot(expandedScreenshotFile.getFilename(), screenshot.getDescription(),
+                              screenshot.getWidth(), expandedScreenshotFile.getHeight(), screenshot.getError());
+    }
+
+    /**
+     * All the expansions of a screenshot write the same scaled file, whatever the target height, so only one
+     * of them may run at a time. An expansion already in progress for the same height is shared;
+     * one for a different height must finish before the next one starts.
+     */
+    private Future<Screenshot> expand(final Screenshot screenshot,
+                                      final File directory,
+                                      final int targetHeight,
+                                      final boolean convertToJpeg) throws IOException {
+        final String screenshotFile = new File(directory, screenshot.getFilename()).getCanonicalPath();
+        Expansion expansion = new Expansion(targetHeight, convertToJpeg, new Callable<Screenshot>() {
+            public Screenshot call() throws IOException {
+                ScreenshotFormatter formatter = ScreenshotFormatter.forScreenshot(screenshot).inDirectory(directory);
+                formatter.createThumbnail();
+                if (convertToJpeg) {
+                    return formatter.expandToHeightAsJpeg(targetHeight);
+                }
+                return formatter.expandToHeight(targetHeight);
+            }
+        }) {
+            @Override
+            protected void done() {
+                screenshotsInProgress.remove(screenshotFile, this);
+            }
+        };
+        Expansion expansionInProgress = screenshotsInProgress.putIfAbsent(screenshotFile, expansion);
+        while (expansionInProgress != null) {
+            if (expansionInProgress.produces(targetHeight, convertToJpeg)) {
+                return expansionInProgress;
+            }
+            waitForCompletionOf(expansionInProgress);
+            expansionInProgress = screenshotsInProgress.putIfAbsent(screenshotFile, expansion);
+        }
+        if (threadCount <= 1) {
+            expansion.run();
+        } else {
+            getWorkers().execute(expansion);
+        }
+        return expansion;
+    }
+
+    private void waitForCompletionOf(final Future<Screenshot> expansion) {
+        try {
+            expansion.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScreenshotException("Interrupted while scaling the screenshots", e);
+        } catch (ExecutionException e) {
+            // The other expansion failed, but this one may still succeed.
+        }
+    }
+
+    private static class Expansion extends FutureTask<Screenshot> {
+        private final int targetHeight;
+        private final boolean convertToJpeg;
+
+        Expansion(final int targetHeight, final boolean convertToJpeg, final Callable<Screenshot> task) {
+            super(task);
+            this.targetHeight = targetHeight;
+            this.convertToJpeg = convertToJpeg;
+        }
+
+        boolean produces(final int height, final boolean jpeg) {
+            return (targetHeight == height) && (convertToJpeg == jpeg);
+        }
+    }
+
+    private synchronized ExecutorService getWorkers() {
+        if (workers == null) {
+            workers = Executors.newFixedThreadPool(threadCount, new NamedThreadFactory("screenshot-processor"));
+        }
+        return workers;
+    }
+
+    private Screenshot waitFor(final Future<Screenshot> expandedScreenshot) {
+        try {
+            return expandedScreenshot.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScreenshotException("Interrupted while scaling the screenshots", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new ScreenshotException("Failed to write scaled screenshot", e.getCause());
+        }
+    }
+}
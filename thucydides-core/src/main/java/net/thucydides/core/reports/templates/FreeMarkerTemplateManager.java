@@ -3,14 +3,20 @@ package net.thucydides.core.reports.templates;
 import freemarker.template.Configuration;
 import freemarker.template.DefaultObjectWrapper;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Manages velocity templates.
- *
+ * Templates are only loaded and compiled once, and then shared between threads.
  */
 public class FreeMarkerTemplateManager implements TemplateManager {
 
     Configuration cfg;
 
+    private final ConcurrentMap<String, ReportTemplate> compiledTemplates
+            = new ConcurrentHashMap<String, ReportTemplate>();
+
     public FreeMarkerTemplateManager() throws Exception {
         cfg = new Configuration();
         cfg.setClassForTemplateLoading(getClass(), "/");
@@ -18,7 +24,12 @@ public class FreeMarkerTemplateManager implements TemplateManager {
     }
 
     public ReportTemplate getTemplateFrom(final String template) throws Exception {
-        return new FreemarkerReportTemplate(cfg, template);
+        ReportTemplate compiledTemplate = compiledTemplates.get(template);
+        if (compiledTemplate == null) {
+            compiledTemplates.putIfAbsent(template, new FreemarkerReportTemplate(cfg, template));
+            compiledTemplate = compiledTemplates.get(template);
+        }
+        return compiledTemplate;
     }
 
 }
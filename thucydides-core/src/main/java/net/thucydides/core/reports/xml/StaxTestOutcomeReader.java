@@ -0,0 +1,269 @@
+package net.thucydides.core.reports.xml;
+
+import net.thucydides.core.model.Story;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestOutcomeSummary;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.TestStep;
+import net.thucydides.core.model.features.ApplicationFeature;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the XML acceptance test reports using a StAX pull parser.
+ * This understands the same format as the one produced by the TestOutcomeConverter, but avoids the
+ * reflection and intermediate objects used by XStream. Reports can either be loaded in full, or as summaries
+ * containing only the overall results and step counts, skipping the step tree.
+ */
+public class StaxTestOutcomeReader {
+
+    private static final String ACCEPTANCE_TEST_RUN = "acceptance-test-run";
+    private static final String TITLE_FIELD = "title";
+    private static final String NAME_FIELD = "name";
+    private static final String ID_FIELD = "id";
+    private static final String STEPS_FIELD = "steps";
+    private static final String SUCCESSFUL_FIELD = "successful";
+    private static final String FAILURES_FIELD = "failures";
+    private static final String SKIPPED_FIELD = "skipped";
+    private static final String IGNORED_FIELD = "ignored";
+    private static final String PENDING_FIELD = "pending";
+    private static final String RESULT_FIELD = "result";
+    private static final String TEST_GROUP = "test-group";
+    private static final String TEST_STEP = "test-step";
+    private static final String USER_STORY = "user-story";
+    private static final String FEATURE = "feature";
+    private static final String ISSUES = "issues";
+    private static final String SCREENSHOT_FIELD = "screenshot";
+    private static final String DESCRIPTION = "description";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    /**
+     * Load a test outcome, including the full step tree.
+     */
+    public TestOutcome readFrom(final File reportFile) throws NotAThucydidesReportException, IOException {
+        return read(reportFile, false);
+    }
+
+    /**
+     * Load the title, user story, issues, step counts and overall result of a test outcome, without the steps.
+     */
+    public TestOutcomeSummary readSummaryFrom(final File reportFile) throws NotAThucydidesReportException,
+                                                                            IOException {
+        return (TestOutcomeSummary) read(reportFile, true);
+    }
+
+    private TestOutcome read(final File reportFile,
+                             final boolean summaryOnly) throws NotAThucydidesReportException, IOException {
+        InputStream input = new BufferedInputStream(new FileInputStream(reportFile));
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(input);
+            if (!nextChildElement(reader) || !reader.getLocalName().equals(ACCEPTANCE_TEST_RUN)) {
+                throw new NotAThucydidesReportException("This file is not a thucydides report: " + reportFile, null);
+            }
+            if (summaryOnly) {
+                return readSummary(reader);
+            } else {
+                return readTestOutcome(reader);
+            }
+        } catch (XMLStreamException e) {
+            throw new NotAThucydidesReportException("This file is not a thucydides report: " + reportFile, e);
+        } finally {
+            closeQuietly(reader);
+            input.close();
+        }
+    }
+
+    private TestOutcome readTestOutcome(final XMLStreamReader reader) throws XMLStreamException {
+        TestOutcome testOutcome = new TestOutcome(reader.getAttributeValue(null, NAME_FIELD));
+        testOutcome.setTitle(reader.getAttributeValue(null, TITLE_FIELD));
+        readChildren(reader, testOutcome);
+        return testOutcome;
+    }
+
+    private TestOutcomeSummary readSummary(final XMLStreamReader reader) throws XMLStreamException {
+        TestOutcomeSummary summary = new TestOutcomeSummary(reader.getAttributeValue(null, NAME_FIELD));
+        summary.setTitle(reader.getAttributeValue(null, TITLE_FIELD));
+        summary.setLeafStepCount(intAttribute(reader, STEPS_FIELD));
+        summary.setSuccessCount(intAttribute(reader, SUCCESSFUL_FIELD));
+        summary.setFailureCount(intAttribute(reader, FAILURES_FIELD));
+        summary.setSkippedCount(intAttribute(reader, SKIPPED_FIELD));
+        summary.setIgnoredCount(intAttribute(reader, IGNORED_FIELD));
+        summary.setPendingCount(intAttribute(reader, PENDING_FIELD));
+        String result = reader.getAttributeValue(null, RESULT_FIELD);
+        if (result != null) {
+            summary.setResult(TestResult.valueOf(result));
+        }
+
+        int stepCount = 0;
+        int nestedStepCount = 0;
+        while (nextChildElement(reader)) {
+            String childNode = reader.getLocalName();
+            if (childNode.equals(TEST_STEP) || childNode.equals(TEST_GROUP)) {
+                stepCount++;
+                nestedStepCount += countStepsInCurrentElement(reader);
+            } else if (childNode.equals(ISSUES)) {
+                readTestRunIssues(reader, summary);
+            } else if (childNode.equals(USER_STORY)) {
+                readUserStory(reader, summary);
+            } else {
+                skipCurrentElement(reader);
+            }
+        }
+        summary.setStepCount(stepCount);
+        summary.setNestedStepCount(nestedStepCount);
+        return summary;
+    }
+
+    private int intAttribute(final XMLStreamReader reader, final String attributeName) {
+        String value = reader.getAttributeValue(null, attributeName);
+        return (value == null) ? 0 : Integer.parseInt(value);
+    }
+
+    private void readChildren(final XMLStreamReader reader, final TestOutcome testOutcome)
+            throws XMLStreamException {
+        while (nextChildElement(reader)) {
+            String childNode = reader.getLocalName();
+            if (childNode.equals(TEST_STEP)) {
+                readTestStep(reader, testOutcome);
+            } else if (childNode.equals(TEST_GROUP)) {
+                readTestGroup(reader, testOutcome);
+            } else if (childNode.equals(ISSUES)) {
+                readTestRunIssues(reader, testOutcome);
+            } else if (childNode.equals(USER_STORY)) {
+                readUserStory(reader, testOutcome);
+            } else {
+                skipCurrentElement(reader);
+            }
+        }
+    }
+
+    private void readUserStory(final XMLStreamReader reader, final TestOutcome testOutcome)
+            throws XMLStreamException {
+        String storyId = reader.getAttributeValue(null, ID_FIELD);
+        String storyName = reader.getAttributeValue(null, NAME_FIELD);
+        ApplicationFeature feature = null;
+
+        while (nextChildElement(reader)) {
+            if (reader.getLocalName().equals(FEATURE)) {
+                feature = new ApplicationFeature(reader.getAttributeValue(null, ID_FIELD),
+                                                 reader.getAttributeValue(null, NAME_FIELD));
+            }
+            skipCurrentElement(reader);
+        }
+        Story story;
+        if (feature == null) {
+            story = Story.withId(storyId, storyName);
+        } else {
+            story = Story.withId(storyId, storyName, feature.getId(), feature.getName());
+        }
+        testOutcome.setUserStory(story);
+    }
+
+    private void readTestRunIssues(final XMLStreamReader reader, final TestOutcome testOutcome)
+            throws XMLStreamException {
+        while (nextChildElement(reader)) {
+            testOutcome.isRelatedToIssue(reader.getElementText());
+        }
+    }
+
+    private void readTestStep(final XMLStreamReader reader, final TestOutcome testOutcome)
+            throws XMLStreamException {
+        TestStep step = new TestStep();
+        step.setResult(TestResult.valueOf(reader.getAttributeValue(null, RESULT_FIELD)));
+        String screenshot = reader.getAttributeValue(null, SCREENSHOT_FIELD);
+        if (screenshot != null) {
+            step.setScreenshotPath(screenshot);
+        }
+        while (nextChildElement(reader)) {
+            if (reader.getLocalName().equals(DESCRIPTION)) {
+                step.setDescription(reader.getElementText());
+            } else {
+                skipCurrentElement(reader);
+            }
+        }
+        testOutcome.recordStep(step);
+    }
+
+    private void readTestGroup(final XMLStreamReader reader, final TestOutcome testOutcome)
+            throws XMLStreamException {
+        String name = reader.getAttributeValue(null, NAME_FIELD);
+        String screenshot = reader.getAttributeValue(null, SCREENSHOT_FIELD);
+        TestResult result = TestResult.valueOf(reader.getAttributeValue(null, RESULT_FIELD));
+        testOutcome.recordStep(new TestStep(name));
+        testOutcome.startGroup();
+        testOutcome.getCurrentGroup().setScreenshotPath(screenshot);
+        testOutcome.getCurrentGroup().setResult(result);
+        readChildren(reader, testOutcome);
+        testOutcome.endGroup();
+    }
+
+    /**
+     * Move to the next child element of the current element.
+     * Returns false, leaving the reader on the closing tag of the current element, if there are no more children.
+     */
+    private boolean nextChildElement(final XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void skipCurrentElement(final XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Count the test steps and step groups in the current element, including the element itself,
+     * leaving the reader on its closing tag.
+     */
+    private int countStepsInCurrentElement(final XMLStreamReader reader) throws XMLStreamException {
+        int stepCount = 1;
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                String nodeName = reader.getLocalName();
+                if (nodeName.equals(TEST_STEP) || nodeName.equals(TEST_GROUP)) {
+                    stepCount++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return stepCount;
+    }
+
+    private void closeQuietly(final XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                // Nothing more can be done here: the underlying stream is closed separately.
+            }
+        }
+    }
+}
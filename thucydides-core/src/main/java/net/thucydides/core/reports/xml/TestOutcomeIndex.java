@@ -0,0 +1,292 @@
+package net.thucydides.core.reports.xml;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.XStreamException;
+import net.thucydides.core.model.Story;
+import net.thucydides.core.model.TestOutcomeSummary;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.util.Md5Hashes;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An on-disk index of the XML reports in a directory, along with a summary of the test outcome in each report.
+ * When the reports are aggregated again, only the reports that are new or that have changed since the index was
+ * saved need to be parsed. A report is considered unchanged if its size and modification date are the same
+ * as when it was indexed, or, failing that, if its contents have the same MD5 hash.
+ */
+public class TestOutcomeIndex {
+
+    public static final String INDEX_FILENAME = "test-outcomes.index";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestOutcomeIndex.class);
+
+    private final File indexFile;
+
+    private final Map<String, IndexedTestOutcome> previousEntries;
+
+    private final Map<String, IndexedTestOutcome> currentEntries = new LinkedHashMap<String, IndexedTestOutcome>();
+
+    protected TestOutcomeIndex(final File indexFile, final List<IndexedTestOutcome> previousEntries) {
+        this.indexFile = indexFile;
+        this.previousEntries = new HashMap<String, IndexedTestOutcome>();
+        for (IndexedTestOutcome entry : previousEntries) {
+            this.previousEntries.put(entry.getPath(), entry);
+        }
+    }
+
+    /**
+     * Load the index stored in a given file. If the file does not exist or cannot be read, the index is empty.
+     */
+    public static TestOutcomeIndex loadFrom(final File indexFile) {
+        return new TestOutcomeIndex(indexFile, readEntriesFrom(indexFile));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<IndexedTestOutcome> readEntriesFrom(final File indexFile) {
+        if (!indexFile.exists()) {
+            return new ArrayList<IndexedTestOutcome>();
+        }
+        InputStream input = null;
+        try {
+            input = new BufferedInputStream(new FileInputStream(indexFile));
+            return (List<IndexedTestOutcome>) newXStream().fromXML(input);
+        } catch (IOException e) {
+            LOGGER.warn("Could not read the test outcome index - all the reports will be reloaded", e);
+        } catch (XStreamException e) {
+            LOGGER.warn("Could not read the test outcome index - all the reports will be reloaded", e);
+        } catch (ClassCastException e) {
+            LOGGER.warn("Could not read the test outcome index - all the reports will be reloaded", e);
+        } finally {
+            IOUtils.closeQuietly(input);
+        }
+        return new ArrayList<IndexedTestOutcome>();
+    }
+
+    private static XStream newXStream() {
+        XStream xstream = new XStream();
+        xstream.alias("indexed-test-outcome", IndexedTestOutcome.class);
+        return xstream;
+    }
+
+    /**
+     * Is the indexed summary for this report file still valid?
+     * If so, the report will be kept in the index the next time it is saved.
+     */
+    public synchronized boolean isUpToDateFor(final File reportFile) throws IOException {
+        IndexedTestOutcome entry = previousEntries.get(pathOf(reportFile));
+        if (entry == null) {
+            return false;
+        }
+        if ((entry.getSize() != reportFile.length()) || (entry.getLastModified() != reportFile.lastModified())) {
+            if (!entry.getHash().equals(Md5Hashes.hashOf(reportFile))) {
+                return false;
+            }
+            entry.setSize(reportFile.length());
+            entry.setLastModified(reportFile.lastModified());
+        }
+        currentEntries.put(entry.getPath(), entry);
+        return true;
+    }
+
+    /**
+     * Returns the indexed summary for a report file, or null if the file is not a Thucydides report.
+     * Only call this for files for which the index is up to date.
+     */
+    public synchronized TestOutcomeSummary getSummaryFor(final File reportFile) {
+        IndexedTestOutcome entry = currentEntries.get(pathOf(reportFile));
+        if ((entry == null) || (!entry.isThucydidesReport())) {
+            return null;
+        }
+        return entry.toSummary();
+    }
+
+    /**
+     * Record the summary of a newly parsed report file.
+     */
+    public void recordSummaryFor(final File reportFile, final TestOutcomeSummary summary) throws IOException {
+        IndexedTestOutcome entry = newEntryFor(reportFile);
+        entry.recordSummary(summary);
+        record(entry);
+    }
+
+    /**
+     * Record that a file is not a Thucydides report, so that it doesn't need to be parsed again.
+     */
+    public void recordNonReport(final File reportFile) throws IOException {
+        record(newEntryFor(reportFile));
+    }
+
+    private synchronized void record(final IndexedTestOutcome entry) {
+        currentEntries.put(entry.getPath(), entry);
+    }
+
+    private IndexedTestOutcome newEntryFor(final File reportFile) throws IOException {
+        IndexedTestOutcome entry = new IndexedTestOutcome();
+        entry.setPath(pathOf(reportFile));
+        entry.setSize(reportFile.length());
+        entry.setLastModified(reportFile.lastModified());
+        entry.setHash(Md5Hashes.hashOf(reportFile));
+        return entry;
+    }
+
+    /**
+     * Report files are indexed by their absolute path, so that files with the same name in different
+     * directories are never confused.
+     */
+    private static String pathOf(final File reportFile) {
+        return reportFile.getAbsolutePath();
+    }
+
+    /**
+     * Write the index to disk. Only the report files checked or recorded since the index was loaded are kept.
+     */
+    public synchronized void save() throws IOException {
+        File indexDirectory = indexFile.getAbsoluteFile().getParentFile();
+        if ((indexDirectory != null) && (!indexDirectory.exists())) {
+            indexDirectory.mkdirs();
+        }
+        List<IndexedTestOutcome> entries = new ArrayList<IndexedTestOutcome>(currentEntries.values());
+        OutputStream out = null;
+        try {
+            out = new BufferedOutputStream(new FileOutputStream(indexFile));
+            newXStream().toXML(entries, out);
+        } finally {
+            IOUtils.closeQuietly(out);
+        }
+    }
+
+    /**
+     * An entry in the index, describing a report file and the test outcome it contains.
+     */
+    protected static class IndexedTestOutcome {
+        private String path;
+        private long size;
+        private long lastModified;
+        private String hash;
+        private boolean thucydidesReport;
+        private String methodName;
+        private String title;
+        private String storyId;
+        private String storyName;
+        private String featureId;
+        private String featureName;
+        private List<String> issues;
+        private String result;
+        private long duration;
+        private int stepCount;
+        private int nestedStepCount;
+        private int leafStepCount;
+        private int successCount;
+        private int failureCount;
+        private int ignoredCount;
+        private int skippedCount;
+        private int pendingCount;
+
+        public IndexedTestOutcome() {
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(final String path) {
+            this.path = path;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public void setSize(final long size) {
+            this.size = size;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public void setLastModified(final long lastModified) {
+            this.lastModified = lastModified;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public void setHash(final String hash) {
+            this.hash = hash;
+        }
+
+        public boolean isThucydidesReport() {
+            return thucydidesReport;
+        }
+
+        public void recordSummary(final TestOutcomeSummary summary) {
+            thucydidesReport = true;
+            methodName = summary.getMethodName();
+            title = summary.getTitle();
+            Story story = summary.getUserStory();
+            if (story != null) {
+                storyId = story.getId();
+                storyName = story.getName();
+                featureId = story.getFeatureId();
+                featureName = story.getFeatureName();
+            }
+            issues = new ArrayList<String>(summary.getIssues());
+            result = summary.getResult().name();
+            duration = summary.getDuration();
+            stepCount = summary.getStepCount();
+            nestedStepCount = summary.getNestedStepCount();
+            leafStepCount = summary.countTestSteps();
+            successCount = summary.getSuccessCount();
+            failureCount = summary.getFailureCount();
+            ignoredCount = summary.getIgnoredCount();
+            skippedCount = summary.getSkippedCount();
+            pendingCount = summary.getPendingCount();
+        }
+
+        public TestOutcomeSummary toSummary() {
+            TestOutcomeSummary summary = new TestOutcomeSummary(methodName);
+            summary.setTitle(title);
+            if (storyId != null) {
+                if (featureId == null) {
+                    summary.setUserStory(Story.withId(storyId, storyName));
+                } else {
+                    summary.setUserStory(Story.withId(storyId, storyName, featureId, featureName));
+                }
+            }
+            if (issues != null) {
+                for (String issue : issues) {
+                    summary.isRelatedToIssue(issue);
+                }
+            }
+            summary.setResult(TestResult.valueOf(result));
+            summary.setDuration(duration);
+            summary.setStepCount(stepCount);
+            summary.setNestedStepCount(nestedStepCount);
+            summary.setLeafStepCount(leafStepCount);
+            summary.setSuccessCount(successCount);
+            summary.setFailureCount(failureCount);
+            summary.setIgnoredCount(ignoredCount);
+            summary.setSkippedCount(skippedCount);
+            summary.setPendingCount(pendingCount);
+            return summary;
+        }
+    }
+}
@@ -2,17 +2,15 @@ package net.thucydides.core.reports.xml;
 
 import com.google.common.base.Preconditions;
 import com.thoughtworks.xstream.XStream;
-import com.thoughtworks.xstream.mapper.CannotResolveClassException;
 import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestOutcomeSummary;
 import net.thucydides.core.reports.AcceptanceTestReporter;
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 
 import static net.thucydides.core.model.ReportNamer.ReportType.XML;
 
@@ -86,20 +84,19 @@ public class XMLTestOutcomeReporter implements AcceptanceTestReporter {
         }
     }
 
+    /**
+     * Load a test outcome, including all of its steps, from an XML report.
+     */
     public TestOutcome loadReportFrom(final File reportFile) throws NotAThucydidesReportException, IOException {
+        return new StaxTestOutcomeReader().readFrom(reportFile);
+    }
 
-        InputStream input = null;
-        try {
-            XStream xstream = new XStream();
-            xstream.alias("acceptance-test-run", TestOutcome.class);
-            xstream.registerConverter(usingXmlConverter());
-            input = new FileInputStream(reportFile);
-            return (TestOutcome) xstream.fromXML(input);
-        } catch (CannotResolveClassException e) {
-            throw new NotAThucydidesReportException("This file is not a thucydides report: " + reportFile, e);
-        } finally {
-            input.close();
-        }
+    /**
+     * Load the overall results of a test outcome from an XML report, without reading the individual steps.
+     */
+    public TestOutcomeSummary loadReportSummaryFrom(final File reportFile) throws NotAThucydidesReportException,
+                                                                                  IOException {
+        return new StaxTestOutcomeReader().readSummaryFrom(reportFile);
     }
 
     public File getOutputDirectory() {
@@ -0,0 +1,154 @@
+package net.thucydides.core.resources;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The resources found in a set of JAR files and directories, indexed by their path relative to the
+ * classpath root so that all the resources in a given directory can be found without scanning everything.
+ * Resources are identified in the same way as by the ResourceList: JAR entries by their entry name,
+ * and files in a directory by their canonical path.
+ */
+final class ClasspathResourceIndex {
+
+    private static final List<String> UNREQUIRED_FILES = Arrays.asList("pom.xml");
+
+    private static final char END_OF_PREFIX = '\uffff';
+
+    private final List<String> resources = new ArrayList<String>();
+
+    private final SortedMap<String, List<String>> resourcesByRelativePath = new TreeMap<String, List<String>>();
+
+    private ClasspathResourceIndex() {
+    }
+
+    /**
+     * Index all the resources in a list of classpath elements, in classpath order.
+     */
+    public static ClasspathResourceIndex forClasspathElements(final String[] classPathElements) {
+        ClasspathResourceIndex index = new ClasspathResourceIndex();
+        for (String element : classPathElements) {
+            File file = new File(element);
+            if (isAJarFile(file)) {
+                index.addJarFile(file);
+            } else {
+                index.addDirectory(file, "");
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Index the resources in a single JAR file.
+     */
+    public static ClasspathResourceIndex forJarFile(final File jarFile) {
+        ClasspathResourceIndex index = new ClasspathResourceIndex();
+        index.addJarFile(jarFile);
+        return index;
+    }
+
+    /**
+     * Index the resources in a directory, which is found at the given path relative to the classpath root.
+     */
+    public static ClasspathResourceIndex forDirectory(final File directory, final String relativePath) {
+        ClasspathResourceIndex index = new ClasspathResourceIndex();
+        index.addDirectory(directory, relativePath + "/");
+        return index;
+    }
+
+    private static boolean isAJarFile(final File file) {
+        if (file.isDirectory()) {
+            return false;
+        } else {
+            return (file.getName().endsWith(".jar"));
+        }
+    }
+
+    /**
+     * All the indexed resources matching a given pattern, in the order they were found.
+     */
+    public Collection<String> getResources(final Pattern pattern) {
+        List<String> matchingResources = new ArrayList<String>();
+        for (String resource : resources) {
+            if (pattern.matcher(resource).matches()) {
+                matchingResources.add(resource);
+            }
+        }
+        return matchingResources;
+    }
+
+    /**
+     * All the indexed resources in a given directory (relative to the classpath root) or its subdirectories.
+     */
+    public Collection<String> getResourcesIn(final String directory) {
+        String prefix = directory + "/";
+        List<String> matchingResources = new ArrayList<String>();
+        for (List<String> resourcesAtPath : resourcesByRelativePath.subMap(prefix, prefix + END_OF_PREFIX).values()) {
+            matchingResources.addAll(resourcesAtPath);
+        }
+        return matchingResources;
+    }
+
+    private void addJarFile(final File file) {
+        if (!file.exists()) {
+            return;
+        }
+        ZipFile zf;
+        try {
+            zf = new ZipFile(file);
+        } catch (final IOException e) {
+            throw new ResourceCopyingError("Could not read from the JAR file", e);
+        }
+        @SuppressWarnings("rawtypes")
+        final Enumeration e = zf.entries();
+        while (e.hasMoreElements()) {
+            final ZipEntry ze = (ZipEntry) e.nextElement();
+            add(ze.getName(), ze.getName());
+        }
+        try {
+            zf.close();
+        } catch (final IOException e1) {
+            throw new ResourceCopyingError("Couldn't close the zip file", e1);
+        }
+    }
+
+    private void addDirectory(final File directory, final String relativePath) {
+        final File[] fileList = directory.listFiles();
+        if (fileList != null) {
+            for (final File file : fileList) {
+                if (file.isDirectory() && (file.exists())) {
+                    addDirectory(file, relativePath + file.getName() + "/");
+                } else if (file.exists()) {
+                    try {
+                        add(relativePath + file.getName(), file.getCanonicalPath());
+                    } catch (final IOException e) {
+                        throw new ResourceCopyingError("Could not read from the JAR file", e);
+                    }
+                }
+            }
+        }
+    }
+
+    private void add(final String relativePath, final String resource) {
+        if (UNREQUIRED_FILES.contains(new File(resource).getName())) {
+            return;
+        }
+        resources.add(resource);
+        List<String> resourcesAtPath = resourcesByRelativePath.get(relativePath);
+        if (resourcesAtPath == null) {
+            resourcesAtPath = new ArrayList<String>();
+            resourcesByRelativePath.put(relativePath, resourcesAtPath);
+        }
+        resourcesAtPath.add(resource);
+    }
+}
@@ -2,23 +2,26 @@ package net.thucydides.core.resources;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLDecoder;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
 /**
  * Utility class to read report resources from the classpath. This way, report
  * resources such as images and stylesheets can be shipped in a separate JAR
  * file.
+ * The contents of the classpath are only scanned once, and then kept in an index.
  */
 public final class ResourceList {
 
-    private static final List<String> UNREQUIRED_FILES = Arrays.asList("pom.xml");
     /**
      * This is a utility class - don't instanciate.
      */
@@ -27,107 +30,91 @@ public final class ResourceList {
 
     private static final String PATH_SEPARATOR = System.getProperty("path.separator");
 
+    private static String indexedClassPath;
+
+    private static ClasspathResourceIndex classpathIndex;
+
+    private static final Map<String, ClasspathResourceIndex> LOCATION_INDEXES
+            = new HashMap<String, ClasspathResourceIndex>();
+
     /**
      * Find a list of resources matching a given path on the classpath. for all
      * elements of java.class.path get a Collection of resources Pattern pattern
      * = Pattern.compile(".*"); gets all resources
-     * 
+     *
      * @param pattern
      *            the pattern to match
      * @return the resources in the order they are found
      */
     public static Collection<String> getResources(final Pattern pattern) {
-        final ArrayList<String> resources = new ArrayList<String>();
-        final String classPath = System.getProperty("java.class.path", ".");
-        final String[] classPathElements = classPath.split(PATH_SEPARATOR);
-        for (final String element : classPathElements) {
-            resources.addAll(getResources(element, pattern));
-        }
-        return resources;
+        return classpathIndex().getResources(pattern);
     }
 
-    private static Collection<String> getResources(final String element, final Pattern pattern) {
-        final ArrayList<String> resources = new ArrayList<String>();
-        final File file = new File(element);
-        if (isAJarFile(file)) {
-            resources.addAll(getResourcesFromJarFile(file, pattern));
-        } else {
-            resources.addAll(getResourcesFromDirectory(file, pattern));
-        }
-        return removeUnnecessaryFilesFrom(resources);
-    }
-
-    private static Collection<String> removeUnnecessaryFilesFrom(final Collection<String> resources) {
-        final Collection<String> cleanedResources = new ArrayList<String>();
-        for (String filepath : resources) {
-            String filename = new File(filepath).getName();
-            if (!UNREQUIRED_FILES.contains(filename)) {
-                cleanedResources.add(filepath);
+    /**
+     * Find the resources in a given directory on the classpath, such as "report-resources".
+     * The JAR files or directories containing this directory are located using the class loader, so only these
+     * need to be read. If the class loader cannot find the directory, the whole classpath is searched.
+     */
+    public static Collection<String> getResourcesIn(final String resourceDirectory) {
+        try {
+            List<ClasspathResourceIndex> locationIndexes = locationIndexesFor(resourceDirectory);
+            if (!locationIndexes.isEmpty()) {
+                List<String> resources = new ArrayList<String>();
+                for (ClasspathResourceIndex locationIndex : locationIndexes) {
+                    resources.addAll(locationIndex.getResourcesIn(resourceDirectory));
+                }
+                return resources;
             }
+        } catch (IOException e) {
+            throw new ResourceCopyingError("Could not find the resource directory " + resourceDirectory, e);
         }
-        return cleanedResources;
+        return classpathIndex().getResourcesIn(resourceDirectory);
     }
 
-    private static boolean isAJarFile(final File file) {
-        if (file.isDirectory()) {
-            return false;
-        } else {
-            return (file.getName().endsWith(".jar"));
+    private static synchronized ClasspathResourceIndex classpathIndex() {
+        final String classPath = System.getProperty("java.class.path", ".");
+        if ((classpathIndex == null) || (!classPath.equals(indexedClassPath))) {
+            classpathIndex = ClasspathResourceIndex.forClasspathElements(classPath.split(PATH_SEPARATOR));
+            indexedClassPath = classPath;
         }
+        return classpathIndex;
     }
 
-    private static Collection<String> getResourcesFromJarFile(final File file, final Pattern pattern) {
-        final ArrayList<String> retval = new ArrayList<String>();
-        if (file.exists()) {
-            ZipFile zf;
-            try {
-                zf = new ZipFile(file);
-            } catch (final IOException e) {
-                throw new ResourceCopyingError("Could not read from the JAR file", e);
-            }
-            @SuppressWarnings("rawtypes")
-            final Enumeration e = zf.entries();
-            while (e.hasMoreElements()) {
-                final ZipEntry ze = (ZipEntry) e.nextElement();
-                final String fileName = ze.getName();
-                
-                final boolean accept = pattern.matcher(fileName).matches();
-                if (accept) {
-                    retval.add(fileName);
+    /**
+     * Index the JAR files and directories where the class loader finds a resource directory.
+     * Returns an empty list if any of these locations is not a JAR file or a directory.
+     */
+    private static synchronized List<ClasspathResourceIndex> locationIndexesFor(final String resourceDirectory)
+            throws IOException {
+        List<ClasspathResourceIndex> locationIndexes = new ArrayList<ClasspathResourceIndex>();
+        Enumeration<URL> locations = ResourceList.class.getClassLoader().getResources(resourceDirectory);
+        while (locations.hasMoreElements()) {
+            URL location = locations.nextElement();
+            ClasspathResourceIndex locationIndex = LOCATION_INDEXES.get(location.toString());
+            if (locationIndex == null) {
+                locationIndex = indexFor(location, resourceDirectory);
+                if (locationIndex == null) {
+                    return new ArrayList<ClasspathResourceIndex>();
                 }
+                LOCATION_INDEXES.put(location.toString(), locationIndex);
             }
-            try {
-                zf.close();
-            } catch (final IOException e1) {
-                throw new ResourceCopyingError("Couldn't close the zip file", e1);
-            }
+            locationIndexes.add(locationIndex);
         }
-        return retval;
+        return locationIndexes;
     }
 
-    private static Collection<String> getResourcesFromDirectory(final File directory,
-                                                                final Pattern pattern) {
-        final ArrayList<String> retval = new ArrayList<String>();
-        final File[] fileList = directory.listFiles();
-        if (fileList != null) {
-            for (final File file : fileList) {
-                if (file.isDirectory() && (file.exists())) {
-                    retval.addAll(getResourcesFromDirectory(file, pattern));
-                } else {
-                    if (file.exists()) {
-                        try {
-                            final String fileName = file.getCanonicalPath();
-                            final boolean accept = pattern.matcher(fileName).matches();
-                            if (accept) {
-                                retval.add(fileName);
-                            }
-                        } catch (final IOException e) {
-                            throw new ResourceCopyingError("Could not read from the JAR file", e);
-                        }
-                    }
-                }
-            }
+    private static ClasspathResourceIndex indexFor(final URL location,
+                                                   final String resourceDirectory) throws IOException {
+        if (location.getProtocol().equals("jar")) {
+            JarURLConnection connection = (JarURLConnection) location.openConnection();
+            return ClasspathResourceIndex.forJarFile(new File(decoded(connection.getJarFileURL().getPath())));
+        } else if (location.getProtocol().equals("file")) {
+            return ClasspathResourceIndex.forDirectory(new File(decoded(location.getPath())), resourceDirectory);
         }
-        return retval;
+        return null;
+    }
+
+    private static String decoded(final String path) throws UnsupportedEncodingException {
+        return URLDecoder.decode(path, "UTF-8");
     }
 }
@@ -0,0 +1,74 @@
+package net.thucydides.core.screenshots;
+
+import java.io.File;
+
+/**
+ * A screenshot saved by the Photographer, along with the image dimensions read from the PNG header
+ * when it was taken. The dimensions are zero if they could not be determined.
+ * The storage size is an upper bound of the space used by the screenshot and its page source on disk,
+ * as the page source is counted before it is compressed.
+ * The page source is null if it was not saved. Content-addressed screenshots and page sources that had
+ * already been saved, for example by another test, are not written again: they are not newly saved.
+ */
+public class CapturedScreenshot {
+
+    private final File screenshot;
+    private final int width;
+    private final int height;
+    private final long storageSize;
+    private final File pageSource;
+    private final boolean newlySaved;
+    private final boolean pageSourceNewlySaved;
+
+    public CapturedScreenshot(final File screenshot, final int width, final int height) {
+        this(screenshot, width, height, 0);
+    }
+
+    public CapturedScreenshot(final File screenshot, final int width, final int height, final long storageSize) {
+        this(screenshot, width, height, storageSize, null);
+    }
+
+    public CapturedScreenshot(final File screenshot, final int width, final int height, final long storageSize,
+                              final File pageSource) {
+        this(screenshot, width, height, storageSize, pageSource, true, (pageSource != null));
+    }
+
+    public CapturedScreenshot(final File screenshot, final int width, final int height, final long storageSize,
+                              final File pageSource, final boolean newlySaved, final boolean pageSourceNewlySaved) {
+        this.screenshot = screenshot;
+        this.width = width;
+        this.height = height;
+        this.storageSize = storageSize;
+        this.pageSource = pageSource;
+        this.newlySaved = newlySaved;
+        this.pageSourceNewlySaved = pageSourceNewlySaved;
+    }
+
+    public File getScreenshot() {
+        return screenshot;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public long getStorageSize() {
+        return storageSize;
+    }
+
+    public File getPageSource() {
+        return pageSource;
+    }
+
+    public boolean isNewlySaved() {
+        return newlySaved;
+    }
+
+    public boolean isPageSourceNewlySaved() {
+        return pageSourceNewlySaved;
+    }
+}
@@ -0,0 +1,71 @@
+package net.thucydides.core.screenshots;
+
+import net.thucydides.core.webdriver.WebDriverFacade;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cheap summary of the current state of a page, used to tell whether the page has changed
+ * since the last screenshot was taken without fetching a new screenshot from the browser.
+ * The fingerprint is made up of the current URL, the length and a checksum of the page HTML,
+ * and a checksum of the current values of the form fields, which do not appear in the HTML.
+ */
+public final class PageFingerprint {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PageFingerprint.class);
+
+    private static final String FINGERPRINT_SCRIPT =
+            "var html = document.documentElement ? document.documentElement.innerHTML : '';"
+          + "var hash = 0;"
+          + "for (var i = 0; i < html.length; i++) {"
+          + "  hash = ((hash << 5) - hash + html.charCodeAt(i)) | 0;"
+          + "}"
+          + "var fields = document.querySelectorAll ? document.querySelectorAll('input,select,textarea') : [];"
+          + "var fieldHash = 0;"
+          + "for (var j = 0; j < fields.length; j++) {"
+          + "  var state = String(fields[j].value) + (fields[j].checked ? '*' : '') + '|';"
+          + "  for (var k = 0; k < state.length; k++) {"
+          + "    fieldHash = ((fieldHash << 5) - fieldHash + state.charCodeAt(k)) | 0;"
+          + "  }"
+          + "}"
+          + "return document.location.href + '|' + html.length + '|' + hash + '|' + fieldHash;";
+
+    private PageFingerprint() {
+    }
+
+    /**
+     * Returns a fingerprint of the page currently displayed by the driver, or null if it cannot be determined,
+     * for example if the browser has not been opened or the driver does not support Javascript.
+     */
+    public static String of(final WebDriver driver) {
+        JavascriptExecutor javascriptExecutor = javascriptExecutorFor(driver);
+        if (javascriptExecutor == null) {
+            return null;
+        }
+        try {
+            Object fingerprint = javascriptExecutor.executeScript(FINGERPRINT_SCRIPT);
+            return (fingerprint != null) ? fingerprint.toString() : null;
+        } catch (WebDriverException e) {
+            LOGGER.debug("Could not read the page fingerprint", e);
+            return null;
+        }
+    }
+
+    private static JavascriptExecutor javascriptExecutorFor(final WebDriver driver) {
+        WebDriver realDriver = driver;
+        if (driver instanceof WebDriverFacade) {
+            WebDriverFacade driverFacade = (WebDriverFacade) driver;
+            if (!driverFacade.isInstantiated()) {
+                return null;
+            }
+            realDriver = driverFacade.getProxiedDriver();
+        }
+        if (realDriver instanceof JavascriptExecutor) {
+            return (JavascriptExecutor) realDriver;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,61 @@
+package net.thucydides.core.screenshots;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.model.TestResult;
+
+import static net.thucydides.core.model.TestResult.FAILURE;
+
+/**
+ * When to save the page source along with a screenshot.
+ * The policy is chosen with the thucydides.page.source.capture system property.
+ */
+public enum PageSourcePolicy {
+
+    /**
+     * Save the page source with every screenshot (the default).
+     */
+    ALWAYS {
+        @Override
+        public boolean shouldCapturePageSourceFor(final TestResult result) {
+            return true;
+        }
+    },
+
+    /**
+     * Only save the page source for failing steps.
+     */
+    FAILING_STEPS {
+        @Override
+        public boolean shouldCapturePageSourceFor(final TestResult result) {
+            return (result == FAILURE);
+        }
+    },
+
+    /**
+     * Never save the page source.
+     */
+    NEVER {
+        @Override
+        public boolean shouldCapturePageSourceFor(final TestResult result) {
+            return false;
+        }
+    };
+
+    public abstract boolean shouldCapturePageSourceFor(final TestResult result);
+
+    /**
+     * The policy defined in the system properties, or ALWAYS if none is defined.
+     */
+    public static PageSourcePolicy fromSystemProperties() {
+        String policyName = ThucydidesSystemProperty.getValue(ThucydidesSystemProperty.PAGE_SOURCE_CAPTURE);
+        if (policyName == null) {
+            return ALWAYS;
+        }
+        for (PageSourcePolicy policy : values()) {
+            if (policy.name().equalsIgnoreCase(policyName.trim())) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown page source capture policy: " + policyName);
+    }
+}
@@ -0,0 +1,69 @@
+package net.thucydides.core.screenshots;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Page sources are saved gzip-compressed next to their screenshots, and only decompressed when they are read.
+ * Page sources saved uncompressed by earlier versions can still be read.
+ */
+public final class PageSources {
+
+    public static final String COMPRESSED_SUFFIX = ".gz";
+
+    private static final String ENCODING = "UTF-8";
+
+    private PageSources() {
+    }
+
+    /**
+     * Write a gzip-compressed page source.
+     */
+    public static void writeCompressed(final File target, final String pageSource) throws IOException {
+        File parentDirectory = target.getAbsoluteFile().getParentFile();
+        if (parentDirectory != null) {
+            parentDirectory.mkdirs();
+        }
+        OutputStream out = new GZIPOutputStream(new FileOutputStream(target));
+        try {
+            out.write(pageSource.getBytes(ENCODING));
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * The size in bytes of a page source before compression.
+     */
+    public static long uncompressedSizeOf(final String pageSource) throws IOException {
+        return pageSource.getBytes(ENCODING).length;
+    }
+
+    /**
+     * Read a page source, decompressing it if need be.
+     */
+    public static String read(final File pageSource) throws IOException {
+        if (!isCompressed(pageSource)) {
+            return FileUtils.readFileToString(pageSource, ENCODING);
+        }
+        InputStream in = new GZIPInputStream(new FileInputStream(pageSource));
+        try {
+            return IOUtils.toString(in, ENCODING);
+        } finally {
+            in.close();
+        }
+    }
+
+    public static boolean isCompressed(final File pageSource) {
+        return pageSource.getName().endsWith(COMPRESSED_SUFFIX);
+    }
+}
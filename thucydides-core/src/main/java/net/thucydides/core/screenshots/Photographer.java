@@ -1,5 +1,9 @@
 package net.thucydides.core.screenshots;
 
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.images.ImageInfoCache;
+import net.thucydides.core.images.SimpleImageInfo;
+import net.thucydides.core.util.Md5Hashes;
 import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
@@ -9,46 +13,59 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * The photographer takes and stores screenshots during the test.
  * The actual screenshots are taken using the specified web driver,
  * and are stored in the specified target directory. Screenshots
- * are numbered sequentially.
+ * are numbered sequentially, or, if the thucydides.content.addressed.screenshots
+ * property is set, named after a hash of their contents so that identical
+ * screenshots are only stored once. The page source can be saved, gzip-compressed,
+ * alongside each screenshot.
  *
  * @author johnsmart
  */
 public class Photographer {
 
-    private static final int MESSAGE_DIGEST_MASK = 0xFF;
     private static final int PNG_SUFFIX_LENGTH = ".png".length();
+    private static final String PAGE_SOURCE_ENCODING = "UTF-8";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    /**
+     * The content-addressed files claimed by a photographer and not yet written.
+     */
+    private static final ConcurrentMap<File, Boolean> PENDING_CONTENT_ADDRESSED_WRITES
+            = new ConcurrentHashMap<File, Boolean>();
     private final WebDriver driver;
     private final File targetDirectory;
     private final ScreenshotSequence screenshotSequence;
-    private final MessageDigest digest;
+    private final ScreenshotWriterQueue writerQueue;
+    private final boolean contentAddressed;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Photographer.class);
 
     private static final ScreenshotSequence DEFAULT_SCREENSHOT_SEQUENCE = new ScreenshotSequence();
 
     public Photographer(final WebDriver driver, final File targetDirectory) {
+        this(driver, targetDirectory, null);
+    }
+
+    /**
+     * Screenshots and page sources will be written to disk by the given queue, rather than in the calling thread.
+     */
+    public Photographer(final WebDriver driver, final File targetDirectory, final ScreenshotWriterQueue writerQueue) {
         this.driver = driver;
         this.targetDirectory = targetDirectory;
         this.screenshotSequence = DEFAULT_SCREENSHOT_SEQUENCE;
-        this.digest = getMd5Digest();
-    }
-
-    private MessageDigest getMd5Digest() {
-        MessageDigest md = null;
-        try {
-            md = MessageDigest.getInstance("MD5");
-        } catch (NoSuchAlgorithmException e) {
-            LOGGER.error("Failed to create digest for screenshot name.", e);
-        }
-        return md;
+        this.writerQueue = writerQueue;
+        this.contentAddressed
+                = ThucydidesSystemProperty.getBooleanValue(ThucydidesSystemProperty.CONTENT_ADDRESSED_SCREENSHOTS, false);
     }
 
     protected long nextScreenshotNumber() {
@@ -60,24 +77,42 @@ public class Photographer {
         return "screenshot-" + getMD5DigestFrom(prefix) + nextScreenshotNumber + ".png";
     }
 
+    private String contentAddressedNameFor(final byte[] screenshot) {
+        return "screenshot-" + Md5Hashes.hashOf(screenshot) + ".png";
+    }
+
     private String getMD5DigestFrom(final String value) {
-        byte[] messageDigest = digest.digest(value.getBytes());
-        StringBuffer hexString = new StringBuffer();
-        for (int i = 0; i < messageDigest.length; i++) {
-            hexString.append(Integer.toHexString(MESSAGE_DIGEST_MASK & messageDigest[i]));
-        }
-        return hexString.toString();
+        return Md5Hashes.hashOf(value.getBytes());
     }
 
     /**
      * Take a screenshot of the current browser and store it in the output directory.
      */
     public File takeScreenshot(final String prefix) {
+        CapturedScreenshot capturedScreenshot = captureScreenshot(prefix);
+        return (capturedScreenshot != null) ? capturedScreenshot.getScreenshot() : null;
+    }
+
+    /**
+     * Take a screenshot of the current browser and store it in the output directory.
+     * The screenshot is fetched from the driver as an array of bytes, so its dimensions can be read
+     * from the PNG header straight away, and it is written directly to its final location.
+     */
+    public CapturedScreenshot captureScreenshot(final String prefix) {
+        return captureScreenshot(prefix, true);
+    }
+
+    /**
+     * Take a screenshot of the current browser, and only save the page source if requested.
+     * Fetching the page source is an extra round trip to the browser, so it is worth avoiding when not needed.
+     */
+    public CapturedScreenshot captureScreenshot(final String prefix, final boolean includePageSource) {
         if (driverCanTakeSnapshots()) {
-            File screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            if ((screenshot != null) && (screenshot.exists())) {
+            byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            if ((screenshot != null) && (screenshot.length > 0)) {
                 try {
-                    return saveScreenshoot(prefix, screenshot);
+                    SavedScreenshot savedScreenshot = saveScreenshoot(prefix, screenshot, includePageSource);
+                    return capturedScreenshotFrom(savedScreenshot, screenshot);
                 } catch (IOException e) {
                     throw new ScreenshotException("Screenshot could not be saved", e);
                 } catch(WebDriverException e) {
@@ -86,42 +121,254 @@ public class Photographer {
             }
         }
         return null;
+    }
+
+    private CapturedScreenshot capturedScreenshotFrom(final SavedScreenshot savedScreenshot, final byte[] screenshot) {
+        long storageSize = screenshot.length + savedScreenshot.getPageSourceSize();
+        try {
+            SimpleImageInfo imageInfo = new SimpleImageInfo(screenshot);
+            return new CapturedScreenshot(savedScreenshot.getScreenshot(), imageInfo.getWidth(), imageInfo.getHeight(),
+                                          storageSize, savedScreenshot.getPageSource(),
+                                          savedScreenshot.isScreenshotWritten(), savedScreenshot.isPageSourceWritten());
+        } catch (IOException e) {
+            LOGGER.debug("Could not read the screenshot dimensions", e);
+            return new CapturedScreenshot(savedScreenshot.getScreenshot(), 0, 0,
+                                          storageSize, savedScreenshot.getPageSource(),
+                                          savedScreenshot.isScreenshotWritten(), savedScreenshot.isPageSourceWritten());
+        }
+    }
+
+    /**
+     * Save a screenshot, and the current page source if requested.
+     */
+    protected SavedScreenshot saveScreenshoot(final String prefix,
+                                              final byte[] screenshot,
+                                              final boolean includePageSource) throws IOException {
+        String screenshotName = contentAddressed ? contentAddressedNameFor(screenshot) : nextScreenshotName(prefix);
+        final File savedScreenshot = new File(targetDirectory, screenshotName);
+        final String pageSource = includePageSource ? getPageSource() : null;
+        final File savedSource = (pageSource != null) ? pageSourceFileFor(savedScreenshot, pageSource) : null;
+        final boolean writeScreenshot = !contentAddressed || claim(savedScreenshot);
+        final boolean writePageSource = (pageSource != null) && (!contentAddressed || claim(savedSource));
+        ScreenshotWriterQueue.ScreenshotWrite screenshotWrite = new ScreenshotWriterQueue.ScreenshotWrite() {
+            public void write() throws IOException {
+                try {
+                    if (writeScreenshot) {
+                        writeScreenshotTo(savedScreenshot, screenshot);
+                        recordImageInfoFor(savedScreenshot, screenshot);
+                    }
+                    if (writePageSource) {
+                        writePageSourceTo(savedSource, pageSource);
+                    }
+                } finally {
+                    if (contentAddressed) {
+                        releaseClaims(writeScreenshot ? savedScreenshot : null, writePageSource ? savedSource : null);
+                    }
+                }
+            }
+        };
+        if (writerQueue != null) {
+            writerQueue.queue(screenshotWrite);
+        } else {
+            screenshotWrite.write();
+        }
+        if (pageSource == null) {
+            return new SavedScreenshot(savedScreenshot, writeScreenshot, null, false, 0);
+        }
+        return new SavedScreenshot(savedScreenshot, writeScreenshot,
+                                   savedSource, writePageSource, PageSources.uncompressedSizeOf(pageSource));
+    }
+
+    /**
+     * Content-addressed files may already have been saved, by an earlier screenshot or by another test.
+     * A file is only written by the first photographer to claim it, and the claim is held until the write
+     * is over, whether or not it succeeds. An empty file is treated as unsaved.
+     */
+    private boolean claim(final File contentAddressedFile) {
+        if (contentAddressedFile.length() > 0) {
+            return false;
+        }
+        if (PENDING_CONTENT_ADDRESSED_WRITES.putIfAbsent(contentAddressedFile.getAbsoluteFile(), Boolean.TRUE) != null) {
+            return false;
+        }
+        if (contentAddressedFile.length() > 0) {
+            releaseClaims(contentAddressedFile, null);
+            return false;
+        }
+        return true;
+    }
+
+    private void releaseClaims(final File screenshot, final File pageSource) {
+        if (screenshot != null) {
+            PENDING_CONTENT_ADDRESSED_WRITES.remove(screenshot.getAbsoluteFile());
+        }
+        if (pageSource != null) {
+            PENDING_CONTENT_ADDRESSED_WRITES.remove(pageSource.getAbsoluteFile());
+        }
+    }
+
+    /**
+     * Content-addressed files are shared with other steps and tests, so they are written to a temporary file
+     * and then moved into place: they are never seen half-written, and a failed write leaves nothing behind.
+     */
+    private void writeScreenshotTo(final File target, final byte[] screenshot) throws IOException {
+        if (!contentAddressed) {
+            writeBytesTo(target, screenshot);
+            return;
+        }
+        File temporaryFile = temporaryFileFor(target);
+        try {
+            writeBytesTo(temporaryFile, screenshot);
+            moveIntoPlace(temporaryFile, target);
+        } finally {
+            FileUtils.deleteQuietly(temporaryFile);
+        }
+    }
 
+    private void writePageSourceTo(final File target, final String pageSource) throws IOException {
+        if (!contentAddressed) {
+            PageSources.writeCompressed(target, pageSource);
+            return;
+        }
+        File temporaryFile = temporaryFileFor(target);
+        try {
+            PageSources.writeCompressed(temporaryFile, pageSource);
+            moveIntoPlace(temporaryFile, target);
+        } finally {
+            FileUtils.deleteQuietly(temporaryFile);
+        }
+    }
+
+    private File temporaryFileFor(final File target) throws IOException {
+        File parentDirectory = target.getAbsoluteFile().getParentFile();
+        parentDirectory.mkdirs();
+        return File.createTempFile(target.getName() + ".", TEMPORARY_FILE_SUFFIX, parentDirectory);
+    }
+
+    /**
+     * Some platforms will not rename a file over an existing one, such as an empty file left by a failed write,
+     * or a file saved in the meantime by another test.
+     */
+    private void moveIntoPlace(final File temporaryFile, final File target) throws IOException {
+        if (temporaryFile.renameTo(target) || (target.length() > 0)) {
+            return;
+        }
+        FileUtils.deleteQuietly(target);
+        if (!temporaryFile.renameTo(target)) {
+            throw new IOException("Could not save " + target);
+        }
+    }
+
+    /**
+     * Identical screenshots do not mean identical pages, so content-addressed page sources are named
+     * after their own contents rather than after the screenshot.
+     */
+    private File pageSourceFileFor(final File savedScreenshot, final String pageSource) throws IOException {
+        if (contentAddressed) {
+            String sourceHash = Md5Hashes.hashOf(pageSource.getBytes(PAGE_SOURCE_ENCODING));
+            return new File(targetDirectory, "pagesource-" + sourceHash + ".html" + PageSources.COMPRESSED_SUFFIX);
+        }
+        return getMatchingSourceCodeFor(savedScreenshot);
+    }
+
+    /**
+     * The reports need the screenshot dimensions, so save them from reading the file again.
+     */
+    private void recordImageInfoFor(final File savedScreenshot, final byte[] screenshot) {
+        try {
+            SimpleImageInfo imageInfo = new SimpleImageInfo(screenshot);
+            ImageInfoCache.recordImageInfo(savedScreenshot, imageInfo.getWidth(), imageInfo.getHeight());
+        } catch (IOException e) {
+            LOGGER.debug("Could not read the screenshot dimensions", e);
+        }
     }
 
-    protected File saveScreenshoot(final String prefix, final File screenshot) throws IOException{
-        File savedScreenshot = new File(targetDirectory, nextScreenshotName(prefix));
-        FileUtils.copyFile(screenshot, savedScreenshot);
-        savePageSourceFor(savedScreenshot.getAbsolutePath());
-        return savedScreenshot;
+    private void writeBytesTo(final File target, final byte[] data) throws IOException {
+        File parentDirectory = target.getAbsoluteFile().getParentFile();
+        if (parentDirectory != null) {
+            parentDirectory.mkdirs();
+        }
+        FileOutputStream out = new FileOutputStream(target);
+        try {
+            FileChannel channel = out.getChannel();
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            out.close();
+        }
     }
 
     private boolean driverCanTakeSnapshots() {
         return (driver instanceof TakesScreenshot);
     }
 
-    private void savePageSourceFor(final String screenshotFile) throws IOException {
+    private String getPageSource() {
         if (WebDriver.class.isAssignableFrom(driver.getClass())) {
             try {
                 WebDriver webdriver = (WebDriver) driver;
-                String pageSource = webdriver.getPageSource();
-
-                File savedSource = new File(sourceCodeFileFor(screenshotFile));
-                FileUtils.writeStringToFile(savedSource, pageSource);
+                return webdriver.getPageSource();
             } catch(WebDriverException e) {
                 LOGGER.warn("Failed to save screen source code",e);
             }
         }
+        return null;
     }
 
 
     private String sourceCodeFileFor(final String screenshotFile) {
         String rootFilename = screenshotFile.substring(0, screenshotFile.length() - PNG_SUFFIX_LENGTH);
-        return rootFilename + ".html";
+        return rootFilename + ".html" + PageSources.COMPRESSED_SUFFIX;
     }
 
+    /**
+     * The gzip-compressed page source saved with a screenshot: use PageSources.read() to read it.
+     * Content-addressed screenshots have no matching source file: use CapturedScreenshot.getPageSource() instead.
+     */
     public File getMatchingSourceCodeFor(final File screenshot) {
         return new File(sourceCodeFileFor(screenshot.getAbsolutePath()));
     }
 
+    /**
+     * The files written, or queued to be written, for a screenshot. A content-addressed file that had already
+     * been saved is not written again. The page source is null if it was not saved, and its size is
+     * the uncompressed size in bytes.
+     */
+    protected static class SavedScreenshot {
+        private final File screenshot;
+        private final boolean screenshotWritten;
+        private final File pageSource;
+        private final boolean pageSourceWritten;
+        private final long pageSourceSize;
+
+        public SavedScreenshot(final File screenshot, final boolean screenshotWritten,
+                               final File pageSource, final boolean pageSourceWritten, final long pageSourceSize) {
+            this.screenshot = screenshot;
+            this.screenshotWritten = screenshotWritten;
+            this.pageSource = pageSource;
+            this.pageSourceWritten = pageSourceWritten;
+            this.pageSourceSize = pageSourceSize;
+        }
+
+        public File getScreenshot() {
+            return screenshot;
+        }
+
+        public boolean isScreenshotWritten() {
+            return screenshotWritten;
+        }
+
+        public File getPageSource() {
+            return pageSource;
+        }
+
+        public boolean isPageSourceWritten() {
+            return pageSourceWritten;
+        }
+
+        public long getPageSourceSize() {
+            return pageSourceSize;
+        }
+    }
 }
@@ -0,0 +1,202 @@
+package net.thucydides.core.screenshots;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.annotations.Screenshots;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.webdriver.WebDriverFacade;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import static net.thucydides.core.model.TestResult.FAILURE;
+
+/**
+ * The standard screenshot strategies. Failing steps always get a screenshot, whatever the policy.
+ * The policy is chosen with the @Screenshots annotation on the test class, or else with the
+ * thucydides.screenshot.strategy system property, which also accepts the class name of a custom ScreenshotStrategy.
+ */
+public enum ScreenshotPolicy {
+
+    /**
+     * Take a screenshot after every step (the default).
+     */
+    EVERY_STEP {
+        @Override
+        public ScreenshotStrategy newStrategy(final int interval, final int budget) {
+            return new EveryStepStrategy();
+        }
+    },
+
+    /**
+     * Only take screenshots of failing steps.
+     */
+    FAILING_STEPS {
+        @Override
+        public ScreenshotStrategy newStrategy(final int interval, final int budget) {
+            return new FailingStepsStrategy();
+        }
+    },
+
+    /**
+     * Take a screenshot after the first step, and then every <i>interval</i> steps.
+     */
+    EVERY_NTH_STEP {
+        @Override
+        public ScreenshotStrategy newStrategy(final int interval, final int budget) {
+            return new EveryNthStepStrategy(interval);
+        }
+    },
+
+    /**
+     * Only take a screenshot when the browser has moved to a new URL.
+     */
+    URL_CHANGE {
+        @Override
+        public ScreenshotStrategy newStrategy(final int interval, final int budget) {
+            return new UrlChangeStrategy();
+        }
+    },
+
+    /**
+     * Only take screenshots at the end of step groups and top-level steps, and not for nested steps.
+     */
+    STEP_GROUPS {
+        @Override
+        public ScreenshotStrategy newStrategy(final int interval, final int budget) {
+            return new StepGroupStrategy();
+        }
+    },
+
+    /**
+     * Take a screenshot after every step, up to a maximum of <i>budget</i> screenshots per test.
+     */
+    BUDGET {
+        @Override
+        public ScreenshotStrategy newStrategy(final int interval, final int budget) {
+            return new BudgetStrategy(budget);
+        }
+    };
+
+    public static final int DEFAULT_INTERVAL = 10;
+    public static final int DEFAULT_BUDGET = 20;
+
+    public abstract ScreenshotStrategy newStrategy(final int interval, final int budget);
+
+    /**
+     * A new strategy for a test in the given test class (which may be null).
+     */
+    public static ScreenshotStrategy strategyForTestClass(final Class<?> testClass) {
+        Screenshots screenshots = (testClass != null) ? testClass.getAnnotation(Screenshots.class) : null;
+        if (screenshots != null) {
+            return screenshots.value().newStrategy(screenshots.interval(), screenshots.budget());
+        }
+        return strategyFromSystemProperties();
+    }
+
+    private static ScreenshotStrategy strategyFromSystemProperties() {
+        String strategyName = ThucydidesSystemProperty.getValue(ThucydidesSystemProperty.SCREENSHOT_STRATEGY);
+        if (strategyName == null) {
+            return EVERY_STEP.newStrategy(DEFAULT_INTERVAL, DEFAULT_BUDGET);
+        }
+        int interval = ThucydidesSystemProperty.getIntegerValue(ThucydidesSystemProperty.SCREENSHOT_INTERVAL,
+                                                                DEFAULT_INTERVAL);
+        int budget = ThucydidesSystemProperty.getIntegerValue(ThucydidesSystemProperty.SCREENSHOT_BUDGET,
+                                                              DEFAULT_BUDGET);
+        for (ScreenshotPolicy policy : values()) {
+            if (policy.name().equalsIgnoreCase(strategyName.trim())) {
+                return policy.newStrategy(interval, budget);
+            }
+        }
+        return customStrategyCalled(strategyName.trim());
+    }
+
+    private static ScreenshotStrategy customStrategyCalled(final String className) {
+        try {
+            return (ScreenshotStrategy) Class.forName(className).newInstance();
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Unknown screenshot strategy: " + className, e);
+        }
+    }
+
+    private static class EveryStepStrategy implements ScreenshotStrategy {
+        public boolean shouldTakeScreenshotFor(final TestResult result, final boolean atGroupBoundary,
+                                               final WebDriver driver) {
+            return true;
+        }
+    }
+
+    private static class FailingStepsStrategy implements ScreenshotStrategy {
+        public boolean shouldTakeScreenshotFor(final TestResult result, final boolean atGroupBoundary,
+                                               final WebDriver driver) {
+            return (result == FAILURE);
+        }
+    }
+
+    private static class EveryNthStepStrategy implements ScreenshotStrategy {
+        private final int interval;
+        private int stepCount = 0;
+
+        EveryNthStepStrategy(final int interval) {
+            this.interval = Math.max(interval, 1);
+        }
+
+        public boolean shouldTakeScreenshotFor(final TestResult result, final boolean atGroupBoundary,
+                                               final WebDriver driver) {
+            boolean nthStep = (stepCount % interval == 0);
+            stepCount++;
+            return nthStep || (result == FAILURE);
+        }
+    }
+
+    private static class UrlChangeStrategy implements ScreenshotStrategy {
+        private String lastUrl;
+
+        public boolean shouldTakeScreenshotFor(final TestResult result, final boolean atGroupBoundary,
+                                               final WebDriver driver) {
+            String currentUrl = currentUrlIn(driver);
+            boolean urlChanged = (currentUrl == null) || (!currentUrl.equals(lastUrl));
+            lastUrl = currentUrl;
+            return urlChanged || (result == FAILURE);
+        }
+
+        /**
+         * Don't open a browser just to find out its URL.
+         */
+        private String currentUrlIn(final WebDriver driver) {
+            if ((driver instanceof WebDriverFacade) && (!((WebDriverFacade) driver).isInstantiated())) {
+                return null;
+            }
+            try {
+                return driver.getCurrentUrl();
+            } catch (WebDriverException e) {
+                return null;
+            }
+        }
+    }
+
+    private static class StepGroupStrategy implements ScreenshotStrategy {
+        public boolean shouldTakeScreenshotFor(final TestResult result, final boolean atGroupBoundary,
+                                               final WebDriver driver) {
+            return atGroupBoundary || (result == FAILURE);
+        }
+    }
+
+    private static class BudgetStrategy implements ScreenshotStrategy {
+        private int remainingScreenshots;
+
+        BudgetStrategy(final int budget) {
+            this.remainingScreenshots = budget;
+        }
+
+        public boolean shouldTakeScreenshotFor(final TestResult result, final boolean atGroupBoundary,
+                                               final WebDriver driver) {
+            if (result == FAILURE) {
+                return true;
+            }
+            if (remainingScreenshots > 0) {
+                remainingScreenshots--;
+                return true;
+            }
+            return false;
+        }
+    }
+}
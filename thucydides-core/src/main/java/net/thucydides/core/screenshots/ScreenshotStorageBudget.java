@@ -0,0 +1,220 @@
+package net.thucydides.core.screenshots;
+
+import net.thucydides.core.model.TestStep;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the disk space used by the screenshots and page sources saved by a step listener within a budget.
+ * When the budget is exceeded, the screenshots of passing steps are deleted, oldest first, and removed from
+ * the steps that refer to them, so that the reports do not contain broken links.
+ * Screenshots of failing steps are always kept. Only the files saved by this listener are counted and deleted:
+ * a content-addressed screenshot that had already been saved may be used by the reports of other tests.
+ * Content-addressed page sources can be shared by steps with different screenshots, so a page source
+ * is only deleted once none of the steps that refer to it still has its screenshot.
+ */
+public class ScreenshotStorageBudget {
+
+    /**
+     * Evict a little more than necessary, so that the budget is not exceeded again by the very next screenshot.
+     */
+    private static final double EVICTION_TARGET = 0.9;
+
+    private final long budget;
+
+    private final Map<File, StoredScreenshot> storedScreenshots = new LinkedHashMap<File, StoredScreenshot>();
+
+    private final Map<File, StoredPageSource> storedPageSources = new HashMap<File, StoredPageSource>();
+
+    private long usedSpace = 0;
+
+    /**
+     * @param budget the maximum space, in bytes, to be used by the screenshots and page sources
+     */
+    public ScreenshotStorageBudget(final long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Record a screenshot and page source saved for a step, along with an estimate of their size.
+     * A screenshot file shared by several steps is only counted once, and is kept if any of these steps failed.
+     * The page source should be null if it was not saved along with this screenshot. The step itself may refer
+     * to a page source saved with an earlier screenshot: the page source is kept for as long as the step needs it.
+     */
+    public void recordScreenshot(final TestStep step,
+                                 final File screenshot,
+                                 final File pageSource,
+                                 final long size,
+                                 final boolean failing) {
+        if ((pageSource != null) && !storedPageSources.containsKey(pageSource)) {
+            storedPageSources.put(pageSource, new StoredPageSource(pageSource));
+        }
+        StoredScreenshot storedScreenshot = storedScreenshots.get(screenshot);
+        if (storedScreenshot == null) {
+            storedScreenshot = new StoredScreenshot(screenshot, size);
+            storedScreenshots.put(screenshot, storedScreenshot);
+            usedSpace += size;
+        }
+        usedBy(storedScreenshot, step, failing);
+    }
+
+    /**
+     * Record a step that uses a screenshot file that was already saved, rather than saving a new one.
+     * If the file was saved by this listener, it is now shared by this step; otherwise it is left alone.
+     */
+    public void recordReusedScreenshot(final TestStep step, final File screenshot, final boolean failing) {
+        StoredScreenshot storedScreenshot = storedScreenshots.get(screenshot);
+        if (storedScreenshot != null) {
+            usedBy(storedScreenshot, step, failing);
+        }
+    }
+
+    private void usedBy(final StoredScreenshot storedScreenshot, final TestStep step, final boolean failing) {
+        storedScreenshot.usedBy(step, failing);
+        StoredPageSource storedPageSource = storedPageSources.get(step.getHtmlSource());
+        if (storedPageSource != null) {
+            storedPageSource.usedBy(step);
+        }
+    }
+
+    /**
+     * Replace the estimated sizes recorded so far by the actual sizes of the files on disk:
+     * page sources are compressed when they are written, so they usually take far less space than estimated.
+     * The files must have been written to disk before they are measured.
+     */
+    public void measureSavedFiles() {
+        usedSpace = 0;
+        for (StoredScreenshot storedScreenshot : storedScreenshots.values()) {
+            storedScreenshot.measure();
+            usedSpace += storedScreenshot.size;
+        }
+        for (StoredPageSource storedPageSource : storedPageSources.values()) {
+            storedPageSource.measure();
+            usedSpace += storedPageSource.size;
+        }
+    }
+
+    public long getUsedSpace() {
+        return usedSpace;
+    }
+
+    public boolean isExceeded() {
+        return usedSpace > budget;
+    }
+
+    /**
+     * Delete the screenshots of passing steps, oldest first, until the space used is back within the budget.
+     * The page sources that are no longer used by any step with a screenshot are deleted along with them.
+     * The files must have been written to disk before they are evicted.
+     */
+    public void evictPassingScreenshots() {
+        long targetSpace = (long) (budget * EVICTION_TARGET);
+        Iterator<StoredScreenshot> screenshots = storedScreenshots.values().iterator();
+        while ((usedSpace > targetSpace) && screenshots.hasNext()) {
+            StoredScreenshot storedScreenshot = screenshots.next();
+            if (!storedScreenshot.isFailing()) {
+                evict(storedScreenshot);
+                screenshots.remove();
+            }
+        }
+    }
+
+    private void evict(final StoredScreenshot storedScreenshot) {
+        FileUtils.deleteQuietly(storedScreenshot.screenshot);
+        usedSpace -= storedScreenshot.size;
+        for (TestStep step : storedScreenshot.steps) {
+            if (storedScreenshot.screenshot.equals(step.getScreenshot())) {
+                releasePageSourceUsedBy(step);
+                step.setScreenshot(null);
+                step.setHtmlSource(null);
+                step.setScreenshotDimensions(0, 0);
+            }
+        }
+    }
+
+    private void releasePageSourceUsedBy(final TestStep step) {
+        StoredPageSource storedPageSource = storedPageSources.get(step.getHtmlSource());
+        if (storedPageSource != null) {
+            storedPageSource.releasedBy(step);
+            if (storedPageSource.isUnused()) {
+                FileUtils.deleteQuietly(storedPageSource.pageSource);
+                usedSpace -= storedPageSource.size;
+                storedPageSources.remove(storedPageSource.pageSource);
+            }
+        }
+    }
+
+    /**
+     * Until the files are measured, the estimated size of a screenshot includes the page source saved with it.
+     */
+    private static class StoredScreenshot {
+        private final File screenshot;
+        private long size;
+        private boolean measured = false;
+        private final List<TestStep> steps = new ArrayList<TestStep>();
+        private boolean failing = false;
+
+        StoredScreenshot(final File screenshot, final long size) {
+            this.screenshot = screenshot;
+            this.size = size;
+        }
+
+        void usedBy(final TestStep step, final boolean failingStep) {
+            steps.add(step);
+            failing = failing || failingStep;
+        }
+
+        void measure() {
+            if (!measured) {
+                size = screenshot.length();
+                measured = true;
+            }
+        }
+
+        boolean isFailing() {
+            return failing;
+        }
+    }
+
+    /**
+     * A page source saved by this listener, along with the steps that refer to it.
+     */
+    private static class StoredPageSource {
+        private final File pageSource;
+        private long size = 0;
+        private boolean measured = false;
+        private final List<TestStep> steps = new ArrayList<TestStep>();
+
+        StoredPageSource(final File pageSource) {
+            this.pageSource = pageSource;
+        }
+
+        void usedBy(final TestStep step) {
+            if (!steps.contains(step)) {
+                steps.add(step);
+            }
+        }
+
+        void releasedBy(final TestStep step) {
+            steps.remove(step);
+        }
+
+        boolean isUnused() {
+            return steps.isEmpty();
+        }
+
+        void measure() {
+            if (!measured) {
+                size = pageSource.length();
+                measured = true;
+            }
+        }
+    }
+}
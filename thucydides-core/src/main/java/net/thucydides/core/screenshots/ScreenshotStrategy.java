@@ -0,0 +1,20 @@
+package net.thucydides.core.screenshots;
+
+import net.thucydides.core.model.TestResult;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Decides which steps of a test get a screenshot.
+ * A new strategy is created for each test, so a strategy can keep track of the steps it has seen so far.
+ * The standard strategies are provided by the ScreenshotPolicy enum.
+ */
+public interface ScreenshotStrategy {
+
+    /**
+     * Should a screenshot be taken now that a step has finished?
+     * @param result the result of the step
+     * @param atGroupBoundary true if the step is a step group or a top-level step
+     * @param driver the driver used to take the screenshot
+     */
+    boolean shouldTakeScreenshotFor(TestResult result, boolean atGroupBoundary, WebDriver driver);
+}
@@ -0,0 +1,92 @@
+package net.thucydides.core.screenshots;
+
+import net.thucydides.core.util.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes screenshots and page sources to disk in a background thread, so that the test thread only needs
+ * to fetch them from the browser. The queue is bounded: if the writer falls too far behind, the test thread
+ * writes the next file itself. Call flush() to wait until all the queued files have been written,
+ * for example at the end of a test and before the reports are generated.
+ */
+public class ScreenshotWriterQueue {
+
+    /**
+     * A file to be written by the queue.
+     */
+    public interface ScreenshotWrite {
+        void write() throws IOException;
+    }
+
+    private static final int DEFAULT_QUEUE_SIZE = 16;
+    private static final long IDLE_WRITER_TIMEOUT_IN_SECONDS = 5;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScreenshotWriterQueue.class);
+
+    private final ThreadPoolExecutor writer;
+
+    private int pendingWrites = 0;
+
+    public ScreenshotWriterQueue() {
+        this(DEFAULT_QUEUE_SIZE);
+    }
+
+    public ScreenshotWriterQueue(final int queueSize) {
+        writer = new ThreadPoolExecutor(0, 1, IDLE_WRITER_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS,
+                                        new ArrayBlockingQueue<Runnable>(queueSize),
+                                        new NamedThreadFactory("screenshot-writer"),
+                                        new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Write a file in the background. Errors are logged, as there is no longer anyone to report them to.
+     */
+    public void queue(final ScreenshotWrite screenshotWrite) {
+        writeStarted();
+        writer.execute(new Runnable() {
+            public void run() {
+                try {
+                    screenshotWrite.write();
+                } catch (IOException e) {
+                    LOGGER.warn("Failed to save screenshot", e);
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Failed to save screenshot", e);
+                } finally {
+                    writeDone();
+                }
+            }
+        });
+    }
+
+    private synchronized void writeStarted() {
+        pendingWrites++;
+    }
+
+    private synchronized void writeDone() {
+        pendingWrites--;
+        if (pendingWrites == 0) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Wait until all the queued screenshots have been written to disk.
+     */
+    public synchronized void flush() {
+        while (pendingWrites > 0) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Interrupted while waiting for the screenshots to be saved");
+                return;
+            }
+        }
+    }
+}
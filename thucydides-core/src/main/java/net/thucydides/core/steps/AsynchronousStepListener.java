@@ -0,0 +1,179 @@
+package net.thucydides.core.steps;
+
+import net.thucydides.core.model.Story;
+import net.thucydides.core.util.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers step events to a custom listener in a background thread, so that slow listeners do not hold up
+ * the test. Events are queued and delivered one at a time, in the order they occurred.
+ * Call flush() to wait until all the queued events have been delivered.
+ */
+public class AsynchronousStepListener implements StepListener {
+
+    private static final long IDLE_DISPATCHER_TIMEOUT_IN_SECONDS = 5;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsynchronousStepListener.class);
+
+    private final StepListener listener;
+
+    private final ThreadPoolExecutor dispatcher;
+
+    private int pendingEvents = 0;
+
+    public AsynchronousStepListener(final StepListener listener) {
+        this.listener = listener;
+        this.dispatcher = new ThreadPoolExecutor(0, 1, IDLE_DISPATCHER_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS,
+                                                 new LinkedBlockingQueue<Runnable>(),
+                                                 new NamedThreadFactory("step-listener"));
+    }
+
+    /**
+     * The listener that the events are delivered to.
+     */
+    public StepListener getListener() {
+        return listener;
+    }
+
+    private void deliver(final Runnable event) {
+        eventQueued();
+        dispatcher.execute(new Runnable() {
+            public void run() {
+                try {
+                    event.run();
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Step listener " + listener + " failed", e);
+                } finally {
+                    eventDelivered();
+                }
+            }
+        });
+    }
+
+    private synchronized void eventQueued() {
+        pendingEvents++;
+    }
+
+    private synchronized void eventDelivered() {
+        pendingEvents--;
+        if (pendingEvents == 0) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Wait until all the queued events have been delivered to the listener.
+     */
+    public synchronized void flush() {
+        while (pendingEvents > 0) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Interrupted while waiting for the step listener " + listener);
+                return;
+            }
+        }
+    }
+
+    public void testSuiteStarted(final Class<?> storyClass) {
+        deliver(new Runnable() {
+            public void run() {
+                listener.testSuiteStarted(storyClass);
+            }
+        });
+    }
+
+    public void testSuiteStarted(final Story story) {
+        deliver(new Runnable() {
+            public void run() {
+                listener.testSuiteStarted(story);
+            }
+        });
+    }
+
+    public void testStarted(final String description) {
+        deliver(new Runnable() {
+            public void run() {
+                listener.testStarted(description);
+            }
+        });
+    }
+
+    public void testFinished(final TestStepResult result) {
+        deliver(new Runnable() {
+            public void run() {
+                listener.testFinished(result);
+            }
+        });
+    }
+
+    /**
+     * The step name is rendered before the event is queued, while the step arguments still hold
+     * the values the step was called with.
+     */
+    public void stepStarted(final ExecutedStepDescription description) {
+        description.getName();
+        deliver(new Runnable() {
+            public void run() {
+                listener.stepStarted(description);
+            }
+        });
+    }
+
+    public void stepFailed(final StepFailure failure) {
+        if (failure.getDescription() != null) {
+            failure.getDescription().getName();
+        }
+        deliver(new Runnable() {
+            public void run() {
+                listener.stepFailed(failure);
+            }
+        });
+    }
+
+    public void stepIgnored() {
+        deliver(new Runnable() {
+            public void run() {
+                listener.stepIgnored();
+            }
+        });
+    }
+
+    public void stepPending() {
+        deliver(new Runnable() {
+            public void run() {
+                listener.stepPending();
+            }
+        });
+    }
+
+    public void stepFinished() {
+        deliver(new Runnable() {
+            public void run() {
+                listener.stepFinished();
+            }
+        });
+    }
+
+    public void testFailed(final Throwable cause) {
+        deliver(new Runnable() {
+            public void run() {
+                listener.testFailed(cause);
+            }
+        });
+    }
+
+    public void testIgnored() {
+        deliver(new Runnable() {
+            public void run() {
+                listener.testIgnored();
+            }
+        });
+    }
+}
@@ -11,8 +11,15 @@ import net.thucydides.core.model.TestResult;
 import net.thucydides.core.model.TestStep;
 import net.thucydides.core.pages.Pages;
 import net.thucydides.core.pages.SystemClock;
+import net.thucydides.core.screenshots.CapturedScreenshot;
+import net.thucydides.core.screenshots.PageFingerprint;
+import net.thucydides.core.screenshots.PageSourcePolicy;
 import net.thucydides.core.screenshots.Photographer;
 import net.thucydides.core.screenshots.ScreenshotException;
+import net.thucydides.core.screenshots.ScreenshotPolicy;
+import net.thucydides.core.screenshots.ScreenshotStorageBudget;
+import net.thucydides.core.screenshots.ScreenshotStrategy;
+import net.thucydides.core.screenshots.ScreenshotWriterQueue;
 import net.thucydides.core.webdriver.Configuration;
 import net.thucydides.core.webdriver.WebdriverProxyFactory;
 import org.openqa.selenium.WebDriver;
@@ -75,6 +82,34 @@ public class BaseStepListener implements StepListener, StepPublisher {
 
     private Story testedStory;
 
+    /**
+     * Screenshots are written to disk in the background while the test carries on.
+     */
+    private final ScreenshotWriterQueue screenshotWriterQueue;
+
+    /**
+     * The last screenshot taken in the current test, and the state of the page when it was taken.
+     */
+    private CapturedScreenshot lastScreenshot;
+    private String lastPageFingerprint;
+
+    /**
+     * Decides which steps of the current test get a screenshot.
+     */
+    private ScreenshotStrategy screenshotStrategy;
+
+    /**
+     * Limits the disk space used by the screenshots, if a budget has been defined.
+     */
+    private final ScreenshotStorageBudget screenshotStorageBudget;
+
+    /**
+     * Decides which screenshots are saved with their page source.
+     */
+    private final PageSourcePolicy pageSourcePolicy;
+
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+
     private BaseStepListener(final File outputDirectory) {
         this.proxyFactory = WebdriverProxyFactory.getFactory();
         this.testOutcomes = new ArrayList<TestOutcome>();
@@ -82,6 +117,18 @@ public class BaseStepListener implements StepListener, StepPublisher {
         this.currentGroupStack = new Stack<TestStep>();
         this.outputDirectory = outputDirectory;
         this.clock = Injectors.getInjector().getInstance(SystemClock.class);
+        this.screenshotWriterQueue = new ScreenshotWriterQueue();
+        this.screenshotStorageBudget = screenshotStorageBudgetFromSystemProperties();
+        this.pageSourcePolicy = PageSourcePolicy.fromSystemProperties();
+    }
+
+    private ScreenshotStorageBudget screenshotStorageBudgetFromSystemProperties() {
+        Integer budgetInMegabytes
+                = ThucydidesSystemProperty.getIntegerValue(ThucydidesSystemProperty.SCREENSHOT_DISK_BUDGET, null);
+        if (budgetInMegabytes == null) {
+            return null;
+        }
+        return new ScreenshotStorageBudget(budgetInMegabytes * BYTES_PER_MEGABYTE);
     }
 
     /**
@@ -159,6 +206,8 @@ public class BaseStepListener implements StepListener, StepPublisher {
     public void testStarted(final String testMethod) {
         LOGGER.debug("test started: " + testMethod);
         testOutcomes.add(TestOutcome.forTestInStory(testMethod, testSuite, testedStory));
+        forgetLastScreenshot();
+        screenshotStrategy = ScreenshotPolicy.strategyForTestClass(testSuite);
         setAnnotatedResult(testMethod);
     }
 
@@ -177,6 +226,15 @@ public class BaseStepListener implements StepListener, StepPublisher {
      */
     public void testFinished(final TestStepResult result) {
         currentStepStack.clear();
+        waitForScreenshotsToBeSaved();
+    }
+
+    /**
+     * Wait until all the screenshots taken so far have been written to disk.
+     * This needs to be done before the reports are generated.
+     */
+    public void waitForScreenshotsToBeSaved() {
+        screenshotWriterQueue.flush();
     }
 
     /**
@@ -304,11 +362,17 @@ public class BaseStepListener implements StepListener, StepPublisher {
         if ((currentStepExists()) && (shouldTakeScreenshotFor(result))) {
             try {
                 String stepDescription = getCurrentTestOutcome().getCurrentStep().getDescription();
-                File screenshot = grabScreenshotFileFor(stepDescription);
-                getCurrentStep().setScreenshot(screenshot);
-                if (screenshot != null) {
-                    File sourcecode = getPhotographer().getMatchingSourceCodeFor(screenshot);
+                CapturedScreenshot capturedScreenshot = screenshotFor(stepDescription, result);
+                if (capturedScreenshot != null) {
+                    File screenshot = capturedScreenshot.getScreenshot();
+                    getCurrentStep().setScreenshot(screenshot);
+                    getCurrentStep().setScreenshotDimensions(capturedScreenshot.getWidth(),
+                                                             capturedScreenshot.getHeight());
+                    File sourcecode = capturedScreenshot.getPageSource();
                     getCurrentStep().setHtmlSource(sourcecode);
+                    keepScreenshotsWithinStorageBudget(capturedScreenshot, sourcecode, result);
+                } else {
+                    getCurrentStep().setScreenshot(null);
                 }
             } catch (ScreenshotException e) {
                 LOGGER.warn("Failed to take screenshot", e);
@@ -316,20 +380,92 @@ public class BaseStepListener implements StepListener, StepPublisher {
         }
     }
 
-    private File grabScreenshotFileFor(final String testName) {
+    private void keepScreenshotsWithinStorageBudget(final CapturedScreenshot capturedScreenshot,
+                                                    final File sourcecode,
+                                                    final TestResult result) {
+        if (screenshotStorageBudget == null) {
+            return;
+        }
+        if (capturedScreenshot.isNewlySaved()) {
+            File savedSourcecode = capturedScreenshot.isPageSourceNewlySaved() ? sourcecode : null;
+            screenshotStorageBudget.recordScreenshot(getCurrentStep(), capturedScreenshot.getScreenshot(),
+                                                     savedSourcecode, capturedScreenshot.getStorageSize(),
+                                                     (result == FAILURE));
+        } else {
+            screenshotStorageBudget.recordReusedScreenshot(getCurrentStep(), capturedScreenshot.getScreenshot(),
+                                                           (result == FAILURE));
+        }
+        if (screenshotStorageBudget.isExceeded()) {
+            waitForScreenshotsToBeSaved();
+            screenshotStorageBudget.measureSavedFiles();
+        }
+        if (screenshotStorageBudget.isExceeded()) {
+            screenshotStorageBudget.evictPassingScreenshots();
+            if ((lastScreenshot != null) && (!lastScreenshot.getScreenshot().exists())) {
+                forgetLastScreenshot();
+            }
+        }
+    }
+
+    /**
+     * If unchanged screenshots are skipped, a step that leaves the page as it was reuses the last screenshot.
+     * Failing steps always get a new screenshot.
+     */
+    private CapturedScreenshot screenshotFor(final String stepDescription, final TestResult result) {
+        String pageFingerprint = null;
+        if (shouldSkipUnchangedScreenshots()) {
+            pageFingerprint = PageFingerprint.of(driver);
+            if ((result != FAILURE) && pageIsUnchanged(pageFingerprint)) {
+                return lastScreenshot;
+            }
+        }
+        CapturedScreenshot capturedScreenshot = grabScreenshotFor(stepDescription, result);
+        lastScreenshot = capturedScreenshot;
+        lastPageFingerprint = (capturedScreenshot != null) ? pageFingerprint : null;
+        return capturedScreenshot;
+    }
+
+    private boolean pageIsUnchanged(final String pageFingerprint) {
+        return (lastScreenshot != null) && (pageFingerprint != null) && (pageFingerprint.equals(lastPageFingerprint));
+    }
+
+    private void forgetLastScreenshot() {
+        lastScreenshot = null;
+        lastPageFingerprint = null;
+    }
+
+    private boolean shouldSkipUnchangedScreenshots() {
+        return ThucydidesSystemProperty.getBooleanValue(ThucydidesSystemProperty.SKIP_UNCHANGED_SCREENSHOTS, false);
+    }
+
+    private CapturedScreenshot grabScreenshotFor(final String testName, final TestResult result) {
         String snapshotName = underscore(testName);
-        return getPhotographer().takeScreenshot(snapshotName);
+        return getPhotographer().captureScreenshot(snapshotName, pageSourcePolicy.shouldCapturePageSourceFor(result));
     }
 
     public Photographer getPhotographer() {
-        return new Photographer(driver, outputDirectory);
+        return new Photographer(driver, outputDirectory, screenshotWriterQueue);
 
     }
 
     private boolean shouldTakeScreenshotFor(final TestResult result) {
         String onlySaveFailures = System.getProperty(ThucydidesSystemProperty.ONLY_SAVE_FAILING_SCREENSHOTS.getPropertyName(), "false");
         Boolean onlySaveFailureScreenshots = Boolean.valueOf(onlySaveFailures);
-        return !(onlySaveFailureScreenshots && result != FAILURE);
+        if (onlySaveFailureScreenshots && result != FAILURE) {
+            return false;
+        }
+        return getScreenshotStrategy().shouldTakeScreenshotFor(result, currentStepIsAtGroupBoundary(), driver);
+    }
+
+    private ScreenshotStrategy getScreenshotStrategy() {
+        if (screenshotStrategy == null) {
+            screenshotStrategy = ScreenshotPolicy.strategyForTestClass(testSuite);
+        }
+        return screenshotStrategy;
+    }
+
+    private boolean currentStepIsAtGroupBoundary() {
+        return (currentStepStack.size() == 1) || (getCurrentStep() == getCurrentGroup());
     }
 
     public List<TestOutcome> getTestOutcomes() {
@@ -12,13 +12,22 @@ import static net.thucydides.core.util.NameConverter.withNoArguments;
 public class ExecutedStepDescription implements Cloneable {
 
     private final Class<? extends Object> stepsClass;
-    private final String name;
+    private volatile String name;
     private boolean isAGroup;
 
+    /**
+     * For intercepted steps, the name is only rendered from the step arguments when it is needed.
+     * The arguments are copied, so that the name reflects the values the step was called with.
+     */
+    private final StepMethodInfo stepMethod;
+    private final Object[] stepArguments;
+
     protected ExecutedStepDescription(final Class<? extends Object> stepsClass,
                                       final String name) {
         this.stepsClass = stepsClass;
         this.name = name;
+        this.stepMethod = null;
+        this.stepArguments = null;
     }
 
 
@@ -28,15 +37,27 @@ public class ExecutedStepDescription implements Cloneable {
         this.stepsClass = stepsClass;
         this.name = name;
         this.isAGroup = isAGroup;
+        this.stepMethod = null;
+        this.stepArguments = null;
+    }
+
+    private ExecutedStepDescription(final Class<? extends Object> stepsClass,
+                                    final StepMethodInfo stepMethod,
+                                    final Object[] stepArguments) {
+        this.stepsClass = stepsClass;
+        this.stepMethod = stepMethod;
+        this.stepArguments = stepArguments;
     }
 
     protected ExecutedStepDescription(final String name) {
         this.stepsClass = null;
         this.name = name;
+        this.stepMethod = null;
+        this.stepArguments = null;
     }
 
     public ExecutedStepDescription clone() {
-        return new ExecutedStepDescription(stepsClass, name, isAGroup);
+        return new ExecutedStepDescription(stepsClass, getName(), isAGroup);
     }
 
     /**
@@ -48,6 +69,9 @@ public class ExecutedStepDescription implements Cloneable {
 
 
     public String getName() {
+        if ((name == null) && (stepMethod != null)) {
+            name = stepMethod.getStepName(stepArguments, true);
+        }
         return name;
     }
 
@@ -59,6 +83,13 @@ public class ExecutedStepDescription implements Cloneable {
         return new ExecutedStepDescription(stepsClass, name);
     }
 
+    static ExecutedStepDescription of(final Class<? extends Object> stepsClass,
+                                      final StepMethodInfo stepMethod,
+                                      final Object[] stepArguments) {
+        Object[] argumentsAtCallTime = (stepArguments == null) ? null : stepArguments.clone();
+        return new ExecutedStepDescription(stepsClass, stepMethod, argumentsAtCallTime);
+    }
+
     public static ExecutedStepDescription withTitle(final String name) {
         return new ExecutedStepDescription(name);
     }
@@ -95,6 +126,6 @@ public class ExecutedStepDescription implements Cloneable {
      * Turns a method into a human-readable title.
      */
     public String getTitle() {
-        return humanize(name);
+        return humanize(getName());
     }
 }
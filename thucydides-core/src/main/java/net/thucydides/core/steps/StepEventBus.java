@@ -2,6 +2,7 @@ package net.thucydides.core.steps;
 
 import com.google.common.collect.ImmutableList;
 import com.google.inject.internal.Lists;
+import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.model.Story;
 import sun.misc.Service;
 
@@ -23,6 +24,8 @@ import java.util.Stack;
  * You can register a new Thucydides listener by implementing the StepListener interface and
  * placing your class in the classpath. Thucydides will automatically detect the listener and add it to the
  * registered listeners. It will load custom listeners automatically when a test starts for the first time.
+ * If the thucydides.asynchronous.custom.listeners property is set, custom listeners receive their events
+ * in a background thread, and the event bus waits for them to catch up at the end of each test.
  *
  */
 public class StepEventBus {
@@ -49,6 +52,14 @@ public class StepEventBus {
 
     private Set<StepListener> customListeners;
 
+    /**
+     * A snapshot of the registered and custom listeners, rebuilt only when listeners are added or dropped,
+     * so that notifying the listeners of an event does not need to copy the listener list.
+     */
+    private StepListener[] listenerSnapshot;
+
+    private static final StepListener[] NO_LISTENERS = new StepListener[0];
+
     private boolean stepFailed;
 
     private boolean pendingTest;
@@ -64,6 +75,7 @@ public class StepEventBus {
      */
     public StepEventBus registerListener(final StepListener listener) {
         registeredListeners.add(listener);
+        listenersChanged();
         return this;
     }
 
@@ -71,15 +83,26 @@ public class StepEventBus {
 
         clear();
 
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : getListeners()) {
             stepListener.testStarted(testName);
         }
     }
 
     protected List<StepListener> getAllListeners() {
-        List<StepListener> allListeners = Lists.newArrayList(registeredListeners);
-        allListeners.addAll(getCustomListeners());
-        return ImmutableList.copyOf(allListeners);
+        return ImmutableList.copyOf(getListeners());
+    }
+
+    private StepListener[] getListeners() {
+        if (listenerSnapshot == null) {
+            List<StepListener> allListeners = Lists.newArrayList(registeredListeners);
+            allListeners.addAll(getCustomListeners());
+            listenerSnapshot = allListeners.toArray(NO_LISTENERS);
+        }
+        return listenerSnapshot;
+    }
+
+    private void listenersChanged() {
+        listenerSnapshot = null;
     }
 
     private Set<StepListener> getCustomListeners() {
@@ -88,22 +111,41 @@ public class StepEventBus {
             customListeners = Collections.synchronizedSet(new HashSet<StepListener>());
             Iterator<?> listenerImplementations = Service.providers(StepListener.class);
 
+            boolean asynchronous = ThucydidesSystemProperty.getBooleanValue(
+                                            ThucydidesSystemProperty.ASYNCHRONOUS_CUSTOM_LISTENERS, false);
             while (listenerImplementations.hasNext()) {
                 StepListener listener = (StepListener) listenerImplementations.next();
                 if (!isACore(listener)) {
-                    customListeners.add(listener);
+                    customListeners.add(asynchronous ? new AsynchronousStepListener(listener) : listener);
                 }
             }
         }
         return customListeners;
     }
 
+    /**
+     * Wait until the custom listeners have received all of the events sent so far.
+     * This is done at the end of each test, and should also be done at the end of a test suite.
+     */
+    public void waitForCustomListeners() {
+        if (customListeners == null) {
+            return;
+        }
+        synchronized (customListeners) {
+            for (StepListener listener : customListeners) {
+                if (listener instanceof AsynchronousStepListener) {
+                    ((AsynchronousStepListener) listener).flush();
+                }
+            }
+        }
+    }
+
     private boolean isACore(final StepListener listener) {
         return listener.getClass().getPackage().getName().startsWith(CORE_THUCYDIDES_PACKAGE);
     }
 
     public void testSuiteStarted(final Class<?> testClass) {
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : getListeners()) {
             stepListener.testSuiteStarted(testClass);
         }
         updateClassUnderTest(testClass);
@@ -114,7 +156,7 @@ public class StepEventBus {
     }
 
     public void testSuiteStarted(final Story story) {
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : getListeners()) {
             stepListener.testSuiteStarted(story);
         }
     }
@@ -140,9 +182,10 @@ public class StepEventBus {
     }
 
     public void testFinished() {
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : getListeners()) {
             stepListener.testFinished(getResultTally());
         }
+        waitForCustomListeners();
         clear();
     }
 
@@ -170,7 +213,7 @@ public class StepEventBus {
 
         pushStep(executedStepDescription.getName());
 
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : getListeners()) {
             stepListener.stepStarted(executedStepDescription);
         }
     }
@@ -178,7 +221,7 @@ public class StepEventBus {
     public void stepFinished() {
         stepDone();
         getResultTally().logExecutedTest();
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : getListeners()) {
             stepListener.stepFinished();
         }
     }
@@ -192,7 +235,7 @@ public class StepEventBus {
         stepDone();
         getResultTally().logFailure(failure);
 
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : getListeners()) {
             stepListener.stepFailed(failure);
         }
         stepFailed = true;
@@ -203,7 +246,7 @@ public class StepEventBus {
         stepDone();
         getResultTally().logIgnoredTest();
 
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : getListeners()) {
             stepListener.stepIgnored();
         }
     }
@@ -213,17 +256,19 @@ public class StepEventBus {
         stepDone();
         getResultTally().logIgnoredTest();
 
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : getListeners()) {
             stepListener.stepPending();
         }
     }
 
     public void dropListener(final StepListener stepListener) {
         registeredListeners.remove(stepListener);
+        listenersChanged();
     }
 
     public void dropAllListeners() {
         registeredListeners.clear();
+        listenersChanged();
     }
 
     public boolean webdriverCallsAreSuspended() {
@@ -243,7 +288,7 @@ public class StepEventBus {
      * @param cause the underlying cause of the failure.
      */
     public void testFailed(final Throwable cause) {
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : getListeners()) {
             stepListener.testFailed(cause);
         }
     }
@@ -261,7 +306,7 @@ public class StepEventBus {
     }
 
     public void testIgnored() {
-        for(StepListener stepListener : getAllListeners()) {
+        for(StepListener stepListener : getListeners()) {
             stepListener.testIgnored();
         }
     }
@@ -1,6 +1,5 @@
 package net.thucydides.core.steps;
 
-import net.sf.cglib.proxy.Enhancer;
 import net.thucydides.core.pages.Pages;
 
 import java.util.ArrayList;
@@ -30,8 +29,6 @@ public class StepFactory {
         this.pages = pages;
     }
 
-    private static final Class<?>[] CONSTRUCTOR_ARG_TYPES = {Pages.class};
-    
     /**
      * Returns a new ScenarioSteps instance, of the specified type.
      * This is actually a proxy that allows reporting and screenshots to
@@ -81,16 +78,9 @@ public class StepFactory {
         return steps;
     }
 
-    @SuppressWarnings("unchecked")
-	private <T extends ScenarioSteps> T createProxyStepLibrary(Class<T> scenarioStepsClass) {
-        Enhancer e = new Enhancer();
-        e.setSuperclass(scenarioStepsClass);
+    private <T extends ScenarioSteps> T createProxyStepLibrary(Class<T> scenarioStepsClass) {
         StepInterceptor stepInterceptor = new StepInterceptor(scenarioStepsClass);
-        e.setCallback(stepInterceptor);
-
-        Object[] arguments = new Object[1];
-        arguments[0] = pages;
-        return (T) e.create(CONSTRUCTOR_ARG_TYPES, arguments);
+        return StepLibraryProxies.newProxy(scenarioStepsClass, pages, stepInterceptor);
     }
 
     private <T extends ScenarioSteps> void recordManagedStepLibrary(T steps) {
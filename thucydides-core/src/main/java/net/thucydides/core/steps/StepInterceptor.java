@@ -2,11 +2,7 @@ package net.thucydides.core.steps;
 
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
-import net.thucydides.core.annotations.Pending;
-import net.thucydides.core.annotations.Step;
-import net.thucydides.core.annotations.StepGroup;
 import net.thucydides.core.webdriver.WebdriverAssertionError;
-import org.junit.Ignore;
 import org.openqa.selenium.WebDriverException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,7 +10,6 @@ import org.slf4j.LoggerFactory;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -41,55 +36,43 @@ public class StepInterceptor implements MethodInterceptor, Serializable {
     public Object intercept(final Object obj, final Method method,
                             final Object[] args, final MethodProxy proxy) throws Throwable {
 
+        StepMethodInfo stepMethod = StepMethodInfo.forMethod(method);
         Object result;
-        if (baseClassMethod(method)) {
-            result = runNormalMethod(obj, method, args, proxy);
+        if (stepMethod.isAnObjectMethod()) {
+            result = runNormalMethod(obj, stepMethod, args, proxy);
         } else {
-            result = testStepResult(obj, method, args, proxy);
+            result = testStepResult(obj, method, stepMethod, args, proxy);
         }
         return result;
 
     }
 
-    private final List<String> OBJECT_METHODS
-       = Arrays.asList("toString",
-            "equals",
-            "hashcode",
-            "clone",
-            "notify",
-            "notifyAll",
-            "wait",
-            "finalize");
-
-    private boolean baseClassMethod(final Method method) {
-        return (OBJECT_METHODS.contains(method.getName()));
-    }
-
-    private Object testStepResult(final Object obj, final Method method,
+    private Object testStepResult(final Object obj, final Method method, final StepMethodInfo stepMethod,
                                   final Object[] args, final MethodProxy proxy) throws Throwable {
 
-        if (!isATestStep(method)) {
-            return runNormalMethod(obj, method, args, proxy);
+        if (!stepMethod.isAStep()) {
+            return runNormalMethod(obj, stepMethod, args, proxy);
         }
 
-        notifyStepStarted(method, args);
+        ExecutedStepDescription description = ExecutedStepDescription.of(testStepClass, stepMethod, args);
+        notifyStepStarted(description);
 
-        if (shouldSkip(method)) {
-            Object skippedReturnObject = runSkippedMethod(obj, method, args, proxy);
-            notifyTestSkippedFor(method, args);
+        if (shouldSkip(stepMethod)) {
+            Object skippedReturnObject = runSkippedMethod(obj, stepMethod, args, proxy);
+            notifyTestSkippedFor(stepMethod);
             return appropriateReturnObject(skippedReturnObject, obj, method);
         }
 
-        return runTestStep(obj, method, args, proxy);
+        return runTestStep(obj, method, stepMethod, description, args, proxy);
 
     }
 
-    private Object runSkippedMethod(Object obj, Method method, Object[] args, MethodProxy proxy) {
-        LOGGER.info("Running test step " + getTestNameFrom(method, args, false));
+    private Object runSkippedMethod(Object obj, StepMethodInfo stepMethod, Object[] args, MethodProxy proxy) {
+        logStep("Running test step ", stepMethod, args);
         Object result = null;
         StepEventBus.getEventBus().temporarilySuspendWebdriverCalls();
         try {
-            result = invokeMethod(obj, method, args, proxy);
+            result = invokeMethod(obj, args, proxy);
         } catch (Throwable anyException) {
             LOGGER.trace("Ignoring exception thrown during a skipped test", anyException);
         }
@@ -97,6 +80,15 @@ public class StepInterceptor implements MethodInterceptor, Serializable {
         return result;
     }
 
+    /**
+     * Step names are only built if they are going to be logged.
+     */
+    private void logStep(final String message, final StepMethodInfo stepMethod, final Object[] args) {
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info(message + stepMethod.getStepName(args, false));
+        }
+    }
+
     Object appropriateReturnObject(final Object returnedValue, final Object obj, final Method method) {
         if (returnedValue != null) {
             return returnedValue;
@@ -113,8 +105,8 @@ public class StepInterceptor implements MethodInterceptor, Serializable {
         }
     }
 
-    private boolean shouldSkip(final Method step) {
-        return aPreviousStepHasFailed() ||  testIsPending() || isPending(step) || isIgnored(step);
+    private boolean shouldSkip(final StepMethodInfo step) {
+        return aPreviousStepHasFailed() ||  testIsPending() || step.isPending() || step.isIgnored();
     }
 
     private boolean testIsPending() {
@@ -131,67 +123,52 @@ public class StepInterceptor implements MethodInterceptor, Serializable {
         return aPreviousStepHasFailed;
     }
 
-    private Object runNormalMethod(final Object obj, final Method method, final Object[] args, final MethodProxy proxy)
-            throws Throwable {
-        LOGGER.info("Running test step " + getTestNameFrom(method, args, false));
+    private Object runNormalMethod(final Object obj, final StepMethodInfo stepMethod, final Object[] args,
+                                   final MethodProxy proxy) throws Throwable {
+        logStep("Running test step ", stepMethod, args);
         Object result = null;
         try {
-            result = invokeMethod(obj, method, args, proxy);
+            result = invokeMethod(obj, args, proxy);
         } catch (AssertionError assertionError) {
             error = assertionError;
             stepExceptions.add(assertionError);
-            notifyOfTestFailure(method, args, assertionError);
+            notifyOfTestFailure(assertionError);
         }
         catch (WebDriverException webdriverException) {
             error = webdriverException;
             stepExceptions.add(webdriverException);
-            notifyOfTestFailure(method, args, webdriverException);
+            notifyOfTestFailure(webdriverException);
         }
         return result;
     }
 
-    private StepGroup getTestGroupAnnotationFor(final Method method) {
-        return method.getAnnotation(StepGroup.class);
-    }
-
-    private Step getTestAnnotationFor(final Method method) {
-        return method.getAnnotation(Step.class);
-    }
-
-    private boolean isATestStep(final Method method) {
-        return (getTestAnnotationFor(method) != null) || (getTestGroupAnnotationFor(method) != null);
-    }
-
-    private boolean isIgnored(final Method method) {
-        return (method.getAnnotation(Ignore.class) != null);
-    }
-
-    private Object runTestStep(final Object obj, final Method method,
+    private Object runTestStep(final Object obj, final Method method, final StepMethodInfo stepMethod,
+                               final ExecutedStepDescription description,
                                final Object[] args, final MethodProxy proxy) throws Throwable {
-        LOGGER.info("Running test step " + getTestNameFrom(method, args, false));
+        logStep("Running test step ", stepMethod, args);
         Object result = null;
         try {
             result = proxy.invokeSuper(obj, args);
-            notifyStepFinishedFor(method, args);
+            notifyStepFinished();
         } catch (AssertionError assertionError) {
             error = assertionError;
             stepExceptions.add(assertionError);
-            LOGGER.debug("Assertion error caught - notifying of failure " + assertionError);
-            notifyOfStepFailure(method, args, assertionError);
+            LOGGER.debug("Assertion error caught - notifying of failure {}", assertionError);
+            notifyOfStepFailure(description, assertionError);
             return appropriateReturnObject(obj, method);
         } catch (WebDriverException webdriverException) {
             error = webdriverException;
             AssertionError webdriverAssertionError = new WebdriverAssertionError(messageFrom(error), error);
             stepExceptions.add(webdriverAssertionError);
-            notifyOfStepFailure(method, args, webdriverAssertionError);
+            notifyOfStepFailure(description, webdriverAssertionError);
         } catch (Throwable generalException) {
             error = generalException;
             AssertionError assertionError = new WebdriverAssertionError(messageFrom(error), error);
             stepExceptions.add(assertionError);
-            notifyOfStepFailure(method, args, assertionError);
+            notifyOfStepFailure(description, assertionError);
         }
 
-        LOGGER.info("Test step done: " + getTestNameFrom(method, args, false));
+        logStep("Test step done: ", stepMethod, args);
         return result;
     }
 
@@ -199,81 +176,33 @@ public class StepInterceptor implements MethodInterceptor, Serializable {
         return (error.getCause() != null) ? error.getCause().getMessage() : error.getMessage();
     }
 
-    private Object invokeMethod(final Object obj, final Method method,
-                                final Object[] args, final MethodProxy proxy) throws Throwable {
+    private Object invokeMethod(final Object obj, final Object[] args, final MethodProxy proxy) throws Throwable {
         return proxy.invokeSuper(obj, args);
     }
 
-    private boolean isPending(final Method method) {
-        return (method.getAnnotation(Pending.class) != null);
-    }
-
-    private void notifyStepFinishedFor(final Method method, final Object[] args) {
+    private void notifyStepFinished() {
         StepEventBus.getEventBus().stepFinished();
     }
 
-    private String getTestNameFrom(final Method method, final Object[] args) {
-        return getTestNameFrom(method, args, true);
-    }
-
-    private String getTestNameFrom(final Method method, final Object[] args, final boolean addMarkup) {
-        if ((args == null) || (args.length == 0)) {
-            return method.getName();
-        } else {
-            return testNameWithArguments(method, args, addMarkup);
-        }
-    }
-
-    private String testNameWithArguments(final Method method,
-                                         final Object[] args, final boolean addMarkup) {
-        StringBuilder testName = new StringBuilder(method.getName());
-        testName.append(": ");
-        if (addMarkup) {
-            if (args.length == 1) {
-                testName.append("<span class='single-parameter'>");
-            } else {
-                testName.append("<span class='parameters'>");
-            }
-        }
-        boolean isFirst = true;
-        for (Object arg : args) {
-            if (!isFirst) {
-                testName.append(", ");
-            }
-            testName.append(arg);
-            isFirst = false;
-        }
-        if (addMarkup) {
-            testName.append("</span>");
-        }
-        return testName.toString();
-    }
-
-    private void notifyTestSkippedFor(final Method method, final Object[] args)
-            throws Exception {
-        if (isPending(method)) {
+    private void notifyTestSkippedFor(final StepMethodInfo stepMethod) throws Exception {
+        if (stepMethod.isPending()) {
             StepEventBus.getEventBus().stepPending();
         } else {
             StepEventBus.getEventBus().stepIgnored();
         }
     }
 
-    private void notifyOfStepFailure(final Method method, final Object[] args,
+    private void notifyOfStepFailure(final ExecutedStepDescription description,
                                      final Throwable cause) throws Exception {
-        ExecutedStepDescription description = ExecutedStepDescription.of(testStepClass, getTestNameFrom(method, args));
-
         StepFailure failure = new StepFailure(description, cause);
         StepEventBus.getEventBus().stepFailed(failure);
     }
 
-    private void notifyOfTestFailure(final Method method, final Object[] args,
-                                     final Throwable cause) throws Exception {
+    private void notifyOfTestFailure(final Throwable cause) throws Exception {
         StepEventBus.getEventBus().testFailed(cause);
     }
 
-    private void notifyStepStarted(final Method method, final Object[] args) {
-
-        ExecutedStepDescription description = ExecutedStepDescription.of(testStepClass, getTestNameFrom(method, args));
+    private void notifyStepStarted(final ExecutedStepDescription description) {
         StepEventBus.getEventBus().stepStarted(description);
     }
 }
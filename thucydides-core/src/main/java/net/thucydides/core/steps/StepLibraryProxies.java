@@ -0,0 +1,72 @@
+package net.thucydides.core.steps;
+
+import net.sf.cglib.core.CodeGenerationException;
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.thucydides.core.pages.Pages;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Creates the proxies used to intercept calls to step libraries.
+ * The proxy class for a step library is only generated once, and its constructor is kept so that later proxies
+ * can be created without going through a new Enhancer. Only the generated classes are cached, never proxy
+ * instances, so the pages, driver and interceptor of a test are not kept after the test has finished.
+ */
+final class StepLibraryProxies {
+
+    private static final Class<?>[] CONSTRUCTOR_ARG_TYPES = {Pages.class};
+
+    private static final ConcurrentMap<Class<?>, Constructor<?>> PROXY_CONSTRUCTORS
+            = new ConcurrentHashMap<Class<?>, Constructor<?>>();
+
+    private StepLibraryProxies() {
+    }
+
+    /**
+     * A new proxy for the given step library, which sends all method calls to the interceptor.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends ScenarioSteps> T newProxy(final Class<T> scenarioStepsClass,
+                                                       final Pages pages,
+                                                       final MethodInterceptor interceptor) {
+        Constructor<?> constructor = proxyConstructorFor(scenarioStepsClass);
+        Class<?> proxyClass = constructor.getDeclaringClass();
+
+        Enhancer.registerCallbacks(proxyClass, new Callback[] {interceptor});
+        try {
+            return (T) constructor.newInstance(pages);
+        } catch (InvocationTargetException e) {
+            throw new CodeGenerationException(e.getTargetException());
+        } catch (InstantiationException e) {
+            throw new CodeGenerationException(e);
+        } catch (IllegalAccessException e) {
+            throw new CodeGenerationException(e);
+        } finally {
+            Enhancer.registerCallbacks(proxyClass, null);
+        }
+    }
+
+    private static Constructor<?> proxyConstructorFor(final Class<?> scenarioStepsClass) {
+        Constructor<?> constructor = PROXY_CONSTRUCTORS.get(scenarioStepsClass);
+        if (constructor == null) {
+            Enhancer enhancer = new Enhancer();
+            enhancer.setSuperclass(scenarioStepsClass);
+            enhancer.setCallbackType(MethodInterceptor.class);
+            try {
+                constructor = enhancer.createClass().getConstructor(CONSTRUCTOR_ARG_TYPES);
+            } catch (NoSuchMethodException e) {
+                throw new CodeGenerationException(e);
+            }
+            Constructor<?> existingConstructor = PROXY_CONSTRUCTORS.putIfAbsent(scenarioStepsClass, constructor);
+            if (existingConstructor != null) {
+                constructor = existingConstructor;
+            }
+        }
+        return constructor;
+    }
+}
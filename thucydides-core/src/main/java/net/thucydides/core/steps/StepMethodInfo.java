@@ -0,0 +1,111 @@
+package net.thucydides.core.steps;
+
+import net.thucydides.core.annotations.Pending;
+import net.thucydides.core.annotations.Step;
+import net.thucydides.core.annotations.StepGroup;
+import org.junit.Ignore;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * What the step interceptor needs to know about a step library method.
+ * This is worked out once per method and cached, as step library methods can be called many times,
+ * especially in data-driven tests.
+ */
+final class StepMethodInfo {
+
+    private static final Set<String> OBJECT_METHODS
+       = new HashSet<String>(Arrays.asList("toString",
+            "equals",
+            "hashcode",
+            "clone",
+            "notify",
+            "notifyAll",
+            "wait",
+            "finalize"));
+
+    private static final ConcurrentMap<Method, StepMethodInfo> STEP_METHODS
+            = new ConcurrentHashMap<Method, StepMethodInfo>();
+
+    private final String name;
+    private final String nameWithArguments;
+    private final boolean objectMethod;
+    private final boolean aStep;
+    private final boolean pending;
+    private final boolean ignored;
+
+    private StepMethodInfo(final Method method) {
+        this.name = method.getName();
+        this.nameWithArguments = name + ": ";
+        this.objectMethod = OBJECT_METHODS.contains(name);
+        this.aStep = (method.getAnnotation(Step.class) != null) || (method.getAnnotation(StepGroup.class) != null);
+        this.pending = (method.getAnnotation(Pending.class) != null);
+        this.ignored = (method.getAnnotation(Ignore.class) != null);
+    }
+
+    public static StepMethodInfo forMethod(final Method method) {
+        StepMethodInfo stepMethodInfo = STEP_METHODS.get(method);
+        if (stepMethodInfo == null) {
+            stepMethodInfo = new StepMethodInfo(method);
+            StepMethodInfo existingInfo = STEP_METHODS.putIfAbsent(method, stepMethodInfo);
+            if (existingInfo != null) {
+                stepMethodInfo = existingInfo;
+            }
+        }
+        return stepMethodInfo;
+    }
+
+    /**
+     * Methods inherited from Object are never treated as steps.
+     */
+    public boolean isAnObjectMethod() {
+        return objectMethod;
+    }
+
+    public boolean isAStep() {
+        return aStep;
+    }
+
+    public boolean isPending() {
+        return pending;
+    }
+
+    public boolean isIgnored() {
+        return ignored;
+    }
+
+    /**
+     * The step name, followed by the parameter values if there are any.
+     * With markup, the parameter values are wrapped in a span for the reports.
+     */
+    public String getStepName(final Object[] args, final boolean addMarkup) {
+        if ((args == null) || (args.length == 0)) {
+            return name;
+        }
+        StringBuilder testName = new StringBuilder(nameWithArguments);
+        if (addMarkup) {
+            if (args.length == 1) {
+                testName.append("<span class='single-parameter'>");
+            } else {
+                testName.append("<span class='parameters'>");
+            }
+        }
+        boolean isFirst = true;
+        for (Object arg : args) {
+            if (!isFirst) {
+                testName.append(", ");
+            }
+            testName.append(arg);
+            isFirst = false;
+        }
+        if (addMarkup) {
+            testName.append("</span>");
+        }
+        return testName.toString();
+    }
+}
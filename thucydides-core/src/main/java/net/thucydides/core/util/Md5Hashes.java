@@ -0,0 +1,57 @@
+package net.thucydides.core.util;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * MD5 hashes of files and byte arrays, as lower-case hexadecimal strings.
+ */
+public final class Md5Hashes {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private Md5Hashes() {
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not find the MD5 algorithm", e);
+        }
+    }
+
+    public static String hashOf(final byte[] data) {
+        return toHex(newDigest().digest(data));
+    }
+
+    public static String hashOf(final File file) throws IOException {
+        MessageDigest digest = newDigest();
+        InputStream input = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int bytesRead;
+            while ((bytesRead = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, bytesRead);
+            }
+        } finally {
+            IOUtils.closeQuietly(input);
+        }
+        return toHex(digest.digest());
+    }
+
+    public static String toHex(final byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+            hex.append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,24 @@
+package net.thucydides.core.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates named daemon threads for the background worker pools used during test execution and reporting.
+ * Daemon threads make sure a forgotten pool never prevents the JVM from shutting down.
+ */
+public final class NamedThreadFactory implements ThreadFactory {
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger(1);
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+    private final String poolName;
+
+    public NamedThreadFactory(final String poolName) {
+        this.poolName = poolName + "-" + POOL_NUMBER.getAndIncrement();
+    }
+
+    public Thread newThread(final Runnable runnable) {
+        Thread thread = new Thread(runnable, poolName + "-thread-" + threadNumber.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,91 @@
+package net.thucydides.core.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs independent tasks, such as loading XML reports or generating report pages, on a bounded thread pool.
+ * The results are returned in the same order as the tasks. With a single thread, the tasks are simply run
+ * one after the other in the calling thread, which is easier to debug.
+ * <p>
+ * The results are collected in order, so a failure is only reported once all the tasks before the failing one
+ * have finished. The tasks after it are then cancelled, and the error is rethrown: IOExceptions, runtime
+ * exceptions and errors as they are, other exceptions wrapped in an IOException.
+ */
+public class ParallelTaskRunner {
+
+    private final String poolName;
+    private final int threadCount;
+
+    public ParallelTaskRunner(final String poolName, final int threadCount) {
+        this.poolName = poolName;
+        this.threadCount = threadCount;
+    }
+
+    public <T> List<T> runAll(final List<Callable<T>> tasks) throws IOException {
+        if ((threadCount <= 1) || (tasks.size() <= 1)) {
+            return runSequentially(tasks);
+        } else {
+            return runInParallel(tasks);
+        }
+    }
+
+    private <T> List<T> runSequentially(final List<Callable<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<T>();
+        for (Callable<T> task : tasks) {
+            try {
+                results.add(task.call());
+            } catch (Exception e) {
+                throw rethrown(e);
+            }
+        }
+        return results;
+    }
+
+    private <T> List<T> runInParallel(final List<Callable<T>> tasks) throws IOException {
+        int poolSize = Math.min(threadCount, tasks.size());
+        ExecutorService executorService = Executors.newFixedThreadPool(poolSize, new NamedThreadFactory(poolName));
+        try {
+            List<Future<T>> pendingResults = new ArrayList<Future<T>>();
+            for (Callable<T> task : tasks) {
+                pendingResults.add(executorService.submit(task));
+            }
+            List<T> results = new ArrayList<T>();
+            for (Future<T> pendingResult : pendingResults) {
+                results.add(waitFor(pendingResult));
+            }
+            return results;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private <T> T waitFor(final Future<T> pendingResult) throws IOException {
+        try {
+            return pendingResult.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (IOException) new IOException("Interrupted while waiting for a " + poolName + " task").initCause(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw rethrown((Exception) e.getCause());
+        }
+    }
+
+    private IOException rethrown(final Exception e) {
+        if (e instanceof IOException) {
+            return (IOException) e;
+        } else if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        return (IOException) new IOException("A " + poolName + " task failed").initCause(e);
+    }
+}
@@ -0,0 +1,66 @@
+package net.thucydides.core.webdriver;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.Locatable;
+import org.openqa.selenium.internal.WrapsElement;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Page object fields with cached elements use a proxy that finds the element again if it has gone stale.
+ * Other fields are proxied in the usual way.
+ */
+class DisplayedElementFieldDecorator extends DefaultFieldDecorator {
+
+    public DisplayedElementFieldDecorator(final ElementLocatorFactory factory) {
+        super(factory);
+    }
+
+    @Override
+    protected WebElement proxyForLocator(final ClassLoader loader, final ElementLocator locator) {
+        if ((locator instanceof DisplayedElementLocator) && ((DisplayedElementLocator) locator).isCachingElement()) {
+            InvocationHandler handler = new CachedElementHandler((DisplayedElementLocator) locator);
+            return (WebElement) Proxy.newProxyInstance(loader,
+                                                       new Class[] {WebElement.class, WrapsElement.class,
+                                                                    Locatable.class},
+                                                       handler);
+        }
+        return super.proxyForLocator(loader, locator);
+    }
+
+    private static class CachedElementHandler implements InvocationHandler {
+        private final DisplayedElementLocator locator;
+
+        CachedElementHandler(final DisplayedElementLocator locator) {
+            this.locator = locator;
+        }
+
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            try {
+                return invokeOnElement(method, args);
+            } catch (StaleElementReferenceException staleElement) {
+                locator.forgetCachedElement();
+                return invokeOnElement(method, args);
+            }
+        }
+
+        private Object invokeOnElement(final Method method, final Object[] args) throws Throwable {
+            WebElement element = locator.findElement();
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package net.thucydides.core.webdriver;
 
-import net.thucydides.core.pages.WebElementFacade;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -8,46 +7,76 @@ import org.openqa.selenium.support.pagefactory.AjaxElementLocator;
 import org.openqa.selenium.support.pagefactory.Annotations;
 
 import java.lang.reflect.Field;
-import java.util.Arrays;
-import java.util.List;
 
+/**
+ * Finds the element for a page object field, waiting for it to be displayed unless an immediate lookup
+ * is in progress. If element caching is enabled, the element is kept until it is forgotten or until the
+ * browser opens a new page.
+ */
 class DisplayedElementLocator extends AjaxElementLocator {
 
-    private static final List<String> QUICK_METHODS = Arrays.asList("isCurrentlyVisible", "isCurrentlyEnabled",
-                                                                    "waitUntilVisible", "waitUntilEnabled");
-    private static final List<String> QUICK_CLASSES = Arrays.asList(WebElementFacade.class.getName());
-
-    private final Field field;
     private final WebDriver driver;
+    private final By by;
+    private final boolean cacheElement;
+    private WebElement cachedElement;
+    private long cachedElementNavigation;
 
     DisplayedElementLocator(WebDriver driver, Field field, int timeOutInSeconds) {
+        this(driver, field, timeOutInSeconds, false);
+    }
+
+    DisplayedElementLocator(WebDriver driver, Field field, int timeOutInSeconds, boolean cacheElement) {
         super(driver, field, timeOutInSeconds);
-        this.field = field;
         this.driver = driver;
+        this.by = new Annotations(field).buildBy();
+        this.cacheElement = cacheElement;
     }
 
     @Override
     public WebElement findElement() {
+        if (cachedElementIsCurrent()) {
+            return cachedElement;
+        }
+        WebElement element;
         if (shouldFindElementImmediately()) {
-            return findElementImmediately();
+            element = findElementImmediately();
         } else {
-            return super.findElement();
+            element = super.findElement();
         }
+        if (cacheElement) {
+            cachedElement = element;
+            cachedElementNavigation = currentNavigation();
+        }
+        return element;
     }
 
-    private boolean shouldFindElementImmediately() {
-        for(StackTraceElement elt : Thread.currentThread().getStackTrace()){
-            if (QUICK_METHODS.contains(elt.getMethodName())
-                &&  QUICK_CLASSES.contains(elt.getClassName())) {
-                return true;
-            }
+    private boolean cachedElementIsCurrent() {
+        return (cachedElement != null) && (cachedElementNavigation == currentNavigation());
+    }
+
+    private long currentNavigation() {
+        if (driver instanceof WebDriverFacade) {
+            return ((WebDriverFacade) driver).getNavigationCount();
         }
-        return false;
+        return 0;
+    }
+
+    public boolean isCachingElement() {
+        return cacheElement;
+    }
+
+    /**
+     * The cached element has gone stale, so it needs to be found again.
+     */
+    public void forgetCachedElement() {
+        cachedElement = null;
+    }
+
+    private boolean shouldFindElementImmediately() {
+        return ImmediateElementLookup.isActive();
     }
 
     public WebElement findElementImmediately() {
-        Annotations annotations = new Annotations(field);
-        By by = annotations.buildBy();
         return driver.findElement(by);
     }
 
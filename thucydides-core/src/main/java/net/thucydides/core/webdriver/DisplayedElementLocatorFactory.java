@@ -1,5 +1,6 @@
 package net.thucydides.core.webdriver;
 
+import net.thucydides.core.annotations.CachedElements;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.pagefactory.AjaxElementLocatorFactory;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
@@ -9,14 +10,22 @@ import java.lang.reflect.Field;
 class DisplayedElementLocatorFactory extends AjaxElementLocatorFactory {
     private final WebDriver driver;
     private final int timeOutInSeconds;
+    private final boolean cacheAllElements;
+
     public DisplayedElementLocatorFactory(WebDriver driver, int timeOutInSeconds) {
+        this(driver, timeOutInSeconds, false);
+    }
+
+    public DisplayedElementLocatorFactory(WebDriver driver, int timeOutInSeconds, boolean cacheAllElements) {
         super(driver, timeOutInSeconds);
         this.driver = driver;
         this.timeOutInSeconds = timeOutInSeconds;
+        this.cacheAllElements = cacheAllElements;
     }
 
     @Override
     public ElementLocator createLocator(Field field) {
-        return new DisplayedElementLocator(driver, field, timeOutInSeconds);    //To change body of overridden methods use File | Settings | File Templates.
+        boolean cacheElement = cacheAllElements || field.isAnnotationPresent(CachedElements.class);
+        return new DisplayedElementLocator(driver, field, timeOutInSeconds, cacheElement);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package net.thucydides.core.webdriver;
+
+/**
+ * Marks the code, for the current thread, in which page object elements should be looked up straight away,
+ * rather than waiting for them to appear. Used by methods such as WebElementFacade.isCurrentlyVisible(),
+ * which report on the current state of the page and do their own waiting where needed.
+ * Scopes can be nested: always call exit() in a finally block after calling enter().
+ */
+public final class ImmediateElementLookup {
+
+    private static final ThreadLocal<int[]> SCOPE_DEPTH = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1];
+        }
+    };
+
+    private ImmediateElementLookup() {
+    }
+
+    public static void enter() {
+        SCOPE_DEPTH.get()[0]++;
+    }
+
+    public static void exit() {
+        int[] depth = SCOPE_DEPTH.get();
+        if (depth[0] > 0) {
+            depth[0]--;
+        }
+    }
+
+    public static boolean isActive() {
+        return SCOPE_DEPTH.get()[0] > 0;
+    }
+}
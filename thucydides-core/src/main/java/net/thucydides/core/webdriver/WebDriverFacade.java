@@ -3,9 +3,13 @@ package net.thucydides.core.webdriver;
 import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.steps.StepEventBus;
 import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidElementStateException;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.OutputType;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
@@ -26,6 +30,16 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
 
     protected WebDriver proxiedWebDriver;
 
+    /**
+     * The driver is only checked after a new page has been requested, rather than before every command.
+     */
+    private boolean driverNeedsValidation = true;
+
+    /**
+     * Incremented whenever a new page is requested, so that cached page elements know when to find themselves again.
+     */
+    private long navigationCount = 0;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverFacade.class);
 
     public WebDriverFacade(final Class<? extends WebDriver> driverClass,
@@ -39,36 +53,84 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             proxiedWebDriver = newProxyDriver();
             WebdriverProxyFactory.getFactory().notifyListenersOfWebdriverCreationIn(this);
         }
-        ensureValidDriver();
+        if (driverNeedsValidation) {
+            driverNeedsValidation = false;
+            recoveredInvalidDriver();
+        }
         return proxiedWebDriver;
     }
 
+    /**
+     * A command sent to the proxied driver. If it fails because the driver has been left in an invalid state,
+     * the driver is reset to the default content and the command is tried again.
+     * Failures caused by the page elements themselves (a missing or stale element, for example)
+     * say nothing about the state of the driver, so they are rethrown straight away.
+     */
+    private abstract class DriverCommand<T> {
+        abstract T executeOn(final WebDriver driver);
+
+        T execute() {
+            WebDriver driver = getProxiedDriver();
+            try {
+                return executeOn(driver);
+            } catch (WebDriverException e) {
+                if (!isAnElementLevelFailure(e) && recoveredInvalidDriver()) {
+                    return executeOn(driver);
+                }
+                throw e;
+            }
+        }
+    }
+
+    private boolean isAnElementLevelFailure(final WebDriverException e) {
+        return (e instanceof NoSuchElementException)
+                || (e instanceof StaleElementReferenceException)
+                || (e instanceof InvalidElementStateException)
+                || (e instanceof TimeoutException);
+    }
+
     private boolean isEnabled() {
         return !StepEventBus.getEventBus().webdriverCallsAreSuspended();
     }
     /**
      * Workaround for Webdriver issue 1438 (http://code.google.com/p/selenium/issues/detail?id=1438)
+     * Returns true if the driver was in an invalid state and has been reset to the default content.
      */
-    private void ensureValidDriver() {
+    private boolean recoveredInvalidDriver() {
         try {
             proxiedWebDriver.getCurrentUrl();
+            return false;
         } catch (WebDriverException e) {
             proxiedWebDriver.switchTo().defaultContent();
+            return true;
         }
     }
 
+    private void driverNeedsValidation() {
+        driverNeedsValidation = true;
+        navigationCount++;
+    }
+
+    /**
+     * The number of times a new page has been requested through this driver, or the driver has been closed.
+     */
+    public long getNavigationCount() {
+        return navigationCount;
+    }
+
     public void reset() {
         if (proxiedWebDriver != null) {
             forcedQuit();
         }
         proxiedWebDriver = null;
-
+        driverNeedsValidation();
     }
 
     private void forcedQuit() {
         try {
             getDriverInstance().quit();
             proxiedWebDriver = null;
+            driverNeedsValidation();
         } catch (WebDriverException e) {
             LOGGER.warn("Closing a driver that was already closed",e);
         }
@@ -110,7 +172,13 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             return;
         }
 
-        getProxiedDriver().get(url);
+        new DriverCommand<Void>() {
+            Void executeOn(final WebDriver driver) {
+                driver.get(url);
+                return null;
+            }
+        }.execute();
+        driverNeedsValidation();
     }
 
     public String getCurrentUrl() {
@@ -118,7 +186,11 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             return null;
         }
 
-        return getProxiedDriver().getCurrentUrl();
+        return new DriverCommand<String>() {
+            String executeOn(final WebDriver driver) {
+                return driver.getCurrentUrl();
+            }
+        }.execute();
     }
 
     public String getTitle() {
@@ -126,7 +198,11 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             return null;
         }
 
-        return getProxiedDriver().getTitle();
+        return new DriverCommand<String>() {
+            String executeOn(final WebDriver driver) {
+                return driver.getTitle();
+            }
+        }.execute();
     }
 
     public List<WebElement> findElements(final By by) {
@@ -134,7 +210,11 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             return null;
         }
 
-        return getProxiedDriver().findElements(by);
+        return new DriverCommand<List<WebElement>>() {
+            List<WebElement> executeOn(final WebDriver driver) {
+                return driver.findElements(by);
+            }
+        }.execute();
     }
 
     public WebElement findElement(final By by) {
@@ -142,7 +222,11 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             return null;
         }
 
-        return getProxiedDriver().findElement(by);
+        return new DriverCommand<WebElement>() {
+            WebElement executeOn(final WebDriver driver) {
+                return driver.findElement(by);
+            }
+        }.execute();
     }
 
     public String getPageSource() {
@@ -150,7 +234,11 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             return null;
         }
 
-        return getProxiedDriver().getPageSource();
+        return new DriverCommand<String>() {
+            String executeOn(final WebDriver driver) {
+                return driver.getPageSource();
+            }
+        }.execute();
     }
 
     protected WebDriver getDriverInstance() {
@@ -171,6 +259,7 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
                 LOGGER.warn("Error while quitting the driver - is this IE?");
             }
             proxiedWebDriver = null;
+            driverNeedsValidation();
         }
     }
 
@@ -178,12 +267,23 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
         return (getDriverInstance() != null);
     }
 
+    /**
+     * Has the real driver been created yet? If not, using it will open a new browser.
+     */
+    public boolean isInstantiated() {
+        return proxyInstanciated();
+    }
+
     public Set<String> getWindowHandles() {
         if (!isEnabled()) {
             return null;
         }
 
-        return getProxiedDriver().getWindowHandles();
+        return new DriverCommand<Set<String>>() {
+            Set<String> executeOn(final WebDriver driver) {
+                return driver.getWindowHandles();
+            }
+        }.execute();
     }
 
     public String getWindowHandle() {
@@ -191,7 +291,11 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             return null;
         }
 
-        return getProxiedDriver().getWindowHandle();
+        return new DriverCommand<String>() {
+            String executeOn(final WebDriver driver) {
+                return driver.getWindowHandle();
+            }
+        }.execute();
     }
 
     public TargetLocator switchTo() {
@@ -207,7 +311,9 @@ public class WebDriverFacade implements WebDriver, TakesScreenshot {
             return null;
         }
 
-        return getProxiedDriver().navigate();
+        Navigation navigation = getProxiedDriver().navigate();
+        driverNeedsValidation();
+        return navigation;
     }
 
     public Options manage() {
@@ -1,6 +1,7 @@
 package net.thucydides.core.webdriver;
 
 import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.annotations.CachedElements;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.firefox.FirefoxDriver;
@@ -139,13 +140,17 @@ public class WebDriverFactory {
      * Initialize a page object's fields using the specified WebDriver instance.
      */
     public static void initElementsWithAjaxSupport(final Object pageObject, final WebDriver driver) {
-        ElementLocatorFactory finder = new DisplayedElementLocatorFactory(driver, Configuration.getElementTimeout());
-        PageFactory.initElements(finder, pageObject);
+        initElementsWithAjaxSupport(pageObject, driver, Configuration.getElementTimeout());
     }
 
     public static void initElementsWithAjaxSupport(final Object pageObject, final WebDriver driver, int timeout) {
-        ElementLocatorFactory finder = new DisplayedElementLocatorFactory(driver, timeout);
-        PageFactory.initElements(finder, pageObject);
+        ElementLocatorFactory finder = new DisplayedElementLocatorFactory(driver, timeout,
+                                                                          cachesAllElements(pageObject));
+        PageFactory.initElements(new DisplayedElementFieldDecorator(finder), pageObject);
+    }
+
+    private static boolean cachesAllElements(final Object pageObject) {
+        return pageObject.getClass().isAnnotationPresent(CachedElements.class);
     }
 
 }
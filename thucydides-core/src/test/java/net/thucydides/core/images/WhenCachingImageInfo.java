@@ -0,0 +1,71 @@
+package net.thucydides.core.images;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class WhenCachingImageInfo {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File screenshot;
+
+    @Before
+    public void copyScreenshot() throws IOException {
+        screenshot = folder.newFile("screenshot.png");
+        FileUtils.copyFile(new File("src/test/resources/screenshots/amazon.png"), screenshot);
+        screenshot.setLastModified(1000000000L);
+    }
+
+    @Test
+    public void should_read_the_image_dimensions_from_the_file() throws IOException {
+        SimpleImageInfo imageInfo = ImageInfoCache.imageInfoFor(screenshot);
+
+        assertThat(imageInfo.getWidth(), is(1495));
+        assertThat(imageInfo.getHeight(), is(2236));
+    }
+
+    @Test
+    public void should_only_read_an_unmodified_file_once() throws IOException {
+        ImageInfoCache.imageInfoFor(screenshot);
+        FileUtils.writeStringToFile(screenshot, "not an image");
+        screenshot.setLastModified(1000000000L);
+
+        SimpleImageInfo imageInfo = ImageInfoCache.imageInfoFor(screenshot);
+
+        assertThat(imageInfo.getWidth(), is(1495));
+    }
+
+    @Test
+    public void should_read_a_modified_file_again() throws IOException {
+        ImageInfoCache.imageInfoFor(screenshot);
+        FileUtils.copyFile(new File("src/test/resources/screenshots/google_page_1.png"), screenshot);
+        screenshot.setLastModified(2000000000L);
+
+        SimpleImageInfo imageInfo = ImageInfoCache.imageInfoFor(screenshot);
+
+        assertThat(imageInfo.getWidth(), is(new SimpleImageInfo(screenshot).getWidth()));
+        assertThat(imageInfo.getHeight(), is(new SimpleImageInfo(screenshot).getHeight()));
+    }
+
+    @Test
+    public void recorded_dimensions_should_be_used_without_reading_the_file() throws IOException {
+        File unreadableImage = folder.newFile("unreadable.png");
+        FileUtils.writeStringToFile(unreadableImage, "not an image");
+
+        ImageInfoCache.recordImageInfo(unreadableImage, 800, 600);
+
+        SimpleImageInfo imageInfo = ImageInfoCache.imageInfoFor(unreadableImage);
+        assertThat(imageInfo.getWidth(), is(800));
+        assertThat(imageInfo.getHeight(), is(600));
+    }
+}
@@ -0,0 +1,213 @@
+package net.thucydides.core.pages;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.internal.WrapsElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class WhenQueryingElementStatesInBulk {
+
+    @Mock
+    FirefoxDriver driver;
+
+    @Mock
+    WebElement firstName;
+
+    @Mock
+    WebElement lastName;
+
+    @Before
+    public void initMocks() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    class FormPage extends PageObject {
+        public FormPage(FirefoxDriver driver) {
+            super(driver);
+        }
+    }
+
+    @Test
+    public void the_states_of_several_elements_should_be_read_in_a_single_script_call() {
+        when(driver.executeScript(anyString(), anyVararg())).thenReturn(
+                states(state(true, true, false, "Joe", "joe", attributes()),
+                       state(false, false, false, "", "", attributes())));
+
+        ElementStateSnapshot snapshot = new FormPage(driver).elementStatesOf(firstName, lastName);
+
+        verify(driver, times(1)).executeScript(anyString(), anyVararg());
+        assertThat(snapshot.size(), is(2));
+        assertThat(snapshot.get(0).isDisplayed(), is(true));
+        assertThat(snapshot.get(0).isEnabled(), is(true));
+        assertThat(snapshot.get(0).getText(), is("Joe"));
+        assertThat(snapshot.get(0).getValue(), is("joe"));
+        assertThat(snapshot.get(1).isDisplayed(), is(false));
+        assertThat(snapshot.allDisplayed(), is(false));
+    }
+
+    @Test
+    public void the_requested_attributes_should_be_included_in_the_snapshot() {
+        when(driver.executeScript(anyString(), anyVararg())).thenReturn(
+                states(state(true, true, true, "", "on", attributes("checkbox", null))));
+
+        ElementStateSnapshot snapshot
+                = new FormPage(driver).elementStatesOf(Arrays.asList(firstName), "type", "title");
+
+        assertThat(snapshot.get(0).isSelected(), is(true));
+        assertThat(snapshot.get(0).getAttribute("type"), is("checkbox"));
+        assertThat(snapshot.get(0).getAttribute("title"), is(nullValue()));
+    }
+
+    @Test
+    public void locators_that_match_no_elements_should_be_reported_as_absent() {
+        when(driver.executeScript(anyString(), anyVararg())).thenReturn(
+                states(null, state(true, true, false, "Joe", "joe", attributes())));
+
+        ElementStateSnapshot snapshot = new FormPage(driver).elementStatesOf(By.id("missing"), By.id("firstName"));
+
+        assertThat(snapshot.get(0).isPresent(), is(false));
+        assertThat(snapshot.get(0).isDisplayed(), is(false));
+        assertThat(snapshot.get(1).isPresent(), is(true));
+        assertThat(snapshot.get(1).getText(), is("Joe"));
+    }
+
+    @Test
+    public void common_locators_should_be_resolved_in_the_same_script_call() {
+        when(driver.executeScript(anyString(), anyVararg())).thenReturn(
+                states(state(true, true, false, "", "", attributes()),
+                       state(true, true, false, "", "", attributes()),
+                       state(true, true, false, "", "", attributes())));
+
+        new FormPage(driver).elementStatesOf(By.id("firstName"), By.cssSelector("#lastName"),
+                                             By.xpath("//input[@name='city']"));
+
+        verify(driver, never()).findElements(any(By.class));
+        verify(driver, never()).findElement(any(By.class));
+        verify(driver).executeScript(anyString(),
+                                     eq(Arrays.<Object>asList(Arrays.asList("id", "firstName"),
+                                                              Arrays.asList("css", "#lastName"),
+                                                              Arrays.asList("xpath", "//input[@name='city']"))),
+                                     eq(new ArrayList<String>()));
+    }
+
+    @Test
+    public void locators_the_browser_cannot_resolve_should_be_looked_up_through_webdriver() {
+        when(driver.findElements(By.cssSelector("#lastName"))).thenReturn(Arrays.asList(lastName));
+        when(driver.executeScript(anyString(), anyVararg())).thenReturn(
+                states(state(true, true, false, "", "joe", attributes()), "unsupported-locator"),
+                states(state(false, true, false, "", "smith", attributes())));
+
+        ElementStateSnapshot snapshot = new FormPage(driver).elementStatesOf(By.id("firstName"),
+                                                                             By.cssSelector("#lastName"));
+
+        verify(driver).executeScript(anyString(), eq(Arrays.<Object>asList(lastName)), eq(new ArrayList<String>()));
+        assertThat(snapshot.get(0).getValue(), is("joe"));
+        assertThat(snapshot.get(1).getValue(), is("smith"));
+    }
+
+    @Test
+    public void other_locators_should_be_looked_up_before_the_script_call() {
+        when(driver.findElements(By.linkText("Home"))).thenReturn(Arrays.asList(firstName));
+        when(driver.executeScript(anyString(), anyVararg())).thenReturn(
+                states(state(true, true, false, "Home", null, attributes())));
+
+        ElementStateSnapshot snapshot = new FormPage(driver).elementStatesOf(By.linkText("Home"));
+
+        verify(driver).executeScript(anyString(), eq(Arrays.<Object>asList(firstName)), eq(new ArrayList<String>()));
+        assertThat(snapshot.get(0).getText(), is("Home"));
+    }
+
+    @Test
+    public void page_object_fields_should_be_unwrapped_before_being_sent_to_the_browser() {
+        WebElement proxiedField = mock(WebElement.class, withSettings().extraInterfaces(WrapsElement.class));
+        when(((WrapsElement) proxiedField).getWrappedElement()).thenReturn(firstName);
+        when(driver.executeScript(anyString(), anyVararg())).thenReturn(
+                states(state(true, true, false, "Joe", "joe", attributes())));
+
+        new FormPage(driver).elementStatesOf(proxiedField);
+
+        verify(driver).executeScript(anyString(), eq(Arrays.asList(firstName)), eq(new ArrayList<String>()));
+    }
+
+    @Test
+    public void no_script_should_be_run_if_none_of_the_elements_can_be_found() {
+        WebElement missingField = mock(WebElement.class, withSettings().extraInterfaces(WrapsElement.class));
+        when(((WrapsElement) missingField).getWrappedElement()).thenThrow(new NoSuchElementException("missing"));
+
+        ElementStateSnapshot snapshot = new FormPage(driver).elementStatesOf(missingField);
+
+        verify(driver, never()).executeScript(anyString(), anyVararg());
+        assertThat(snapshot.get(0).isPresent(), is(false));
+        assertThat(snapshot.noneDisplayed(), is(true));
+    }
+
+    class FormPageWithFields extends PageObject {
+        @FindBy(id = "hiddenField")
+        WebElement hiddenField;
+
+        @FindBy(id = "missingField")
+        WebElement missingField;
+
+        public FormPageWithFields(FirefoxDriver driver) {
+            super(driver, 5);
+        }
+    }
+
+    @Test
+    public void page_object_fields_should_be_found_without_waiting_for_them_to_be_displayed() {
+        WebElement hiddenElement = mock(WebElement.class);
+        when(hiddenElement.isDisplayed()).thenReturn(false);
+        when(driver.findElement(By.id("hiddenField"))).thenReturn(hiddenElement);
+        when(driver.findElement(By.id("missingField"))).thenThrow(new NoSuchElementException("missing"));
+        when(driver.executeScript(anyString(), anyVararg())).thenReturn(
+                states(state(false, true, false, "", "", attributes())));
+        FormPageWithFields page = new FormPageWithFields(driver);
+
+        long start = System.currentTimeMillis();
+        ElementStateSnapshot snapshot = page.elementStatesOf(page.hiddenField, page.missingField);
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertThat(snapshot.get(0).isPresent(), is(true));
+        assertThat(snapshot.get(0).isDisplayed(), is(false));
+        assertThat(snapshot.get(1).isPresent(), is(false));
+        assertThat(elapsed < 2000, is(true));
+        verify(driver).executeScript(anyString(), eq(Arrays.asList(hiddenElement)), eq(new ArrayList<String>()));
+    }
+
+    private List<Object> states(final Object... states) {
+        return Arrays.asList(states);
+    }
+
+    private List<Object> state(final boolean displayed, final boolean enabled, final boolean selected,
+                               final String text, final String value, final List<Object> attributes) {
+        return Arrays.<Object>asList(displayed, enabled, selected, text, value, attributes);
+    }
+
+    private List<Object> attributes(final Object... values) {
+        return Arrays.asList(values);
+    }
+}
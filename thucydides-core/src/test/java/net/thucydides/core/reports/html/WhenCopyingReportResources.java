@@ -0,0 +1,82 @@
+package net.thucydides.core.reports.html;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class WhenCopyingReportResources {
+
+    @Rule
+    public TemporaryFolder temporaryDirectory = new TemporaryFolder();
+
+    private File outputDirectory;
+
+    private File copiedResource;
+
+    private File marker;
+
+    @Before
+    public void setupOutputDirectory() throws Exception {
+        outputDirectory = temporaryDirectory.newFolder("report");
+        copiedResource = new File(outputDirectory, "sample.css");
+        marker = new File(outputDirectory, HtmlResourceCopyManager.RESOURCE_MARKER_FILENAME);
+    }
+
+    @Test
+    public void should_copy_the_resources_and_write_a_marker_file() throws Exception {
+        new HtmlResourceCopyManager().copyResourcesTo("resourcelist", outputDirectory);
+
+        assertThat(copiedResource.exists(), is(true));
+        assertThat(marker.exists(), is(true));
+    }
+
+    @Test
+    public void should_only_copy_the_resources_once_per_output_directory() throws Exception {
+        HtmlResourceCopyManager copyManager = new HtmlResourceCopyManager();
+        copyManager.copyResourcesTo("resourcelist", outputDirectory);
+        copiedResource.delete();
+
+        copyManager.copyResourcesTo("resourcelist", outputDirectory);
+
+        assertThat(copiedResource.exists(), is(false));
+    }
+
+    @Test
+    public void should_not_copy_the_resources_again_in_a_later_run_if_they_are_up_to_date() throws Exception {
+        new HtmlResourceCopyManager().copyResourcesTo("resourcelist", outputDirectory);
+        copiedResource.delete();
+
+        new HtmlResourceCopyManager().copyResourcesTo("resourcelist", outputDirectory);
+
+        assertThat(copiedResource.exists(), is(false));
+    }
+
+    @Test
+    public void should_copy_the_resources_again_in_a_later_run_if_they_have_changed() throws Exception {
+        new HtmlResourceCopyManager().copyResourcesTo("resourcelist", outputDirectory);
+        copiedResource.delete();
+        FileUtils.writeStringToFile(marker, "an older version");
+
+        new HtmlResourceCopyManager().copyResourcesTo("resourcelist", outputDirectory);
+
+        assertThat(copiedResource.exists(), is(true));
+    }
+
+    @Test
+    public void should_copy_the_resources_again_if_the_output_directory_has_been_cleaned() throws Exception {
+        HtmlResourceCopyManager copyManager = new HtmlResourceCopyManager();
+        copyManager.copyResourcesTo("resourcelist", outputDirectory);
+        FileUtils.cleanDirectory(outputDirectory);
+
+        copyManager.copyResourcesTo("resourcelist", outputDirectory);
+
+        assertThat(copiedResource.exists(), is(true));
+    }
+}
@@ -0,0 +1,201 @@
+package net.thucydides.core.reports.html.screenshots;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.images.SimpleImageInfo;
+import net.thucydides.core.junit.rules.SaveWebdriverSystemPropertiesRule;
+import net.thucydides.core.model.Screenshot;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class WhenProcessingScreenshotsForReports {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Rule
+    public SaveWebdriverSystemPropertiesRule saveWebdriverSystemPropertiesRule = new SaveWebdriverSystemPropertiesRule();
+
+    private File screenshotDirectory;
+
+    @Before
+    public void setupWorkingDirectory() throws IOException {
+        screenshotDirectory = folder.newFolder("screenshots");
+        File screenshotsSourceDirectory = new File(Thread.currentThread().getContextClassLoader().getResource("screenshots").getPath());
+        for (String screenshot : Arrays.asList("google_page_1.png", "google_page_2.png", "amazon.png")) {
+            FileUtils.copyFileToDirectory(new File(screenshotsSourceDirectory, screenshot), screenshotDirectory);
+        }
+    }
+
+    @Test
+    public void should_expand_each_screenshot_and_keep_the_step_order() throws IOException {
+        ScreenshotProcessor processor = new ScreenshotProcessor(4);
+        List<Screenshot> screenshots = Arrays.asList(new Screenshot("google_page_1.png", "Step 1", 1200),
+                                                     new Screenshot("google_page_2.png", "Step 2", 1200),
+                                                     new Screenshot("google_page_1.png", "Step 3", 1200));
+
+        List<Screenshot> expandedScreenshots = processor.expandToHeight(screenshots, screenshotDirectory, 1500);
+
+        assertThat(expandedScreenshots.size(), is(3));
+        assertThat(expandedScreenshots.get(0).getFilename(), is("scaled_google_page_1.png"));
+        assertThat(expandedScreenshots.get(1).getFilename(), is("scaled_google_page_2.png"));
+        assertThat(expandedScreenshots.get(2).getFilename(), is("scaled_google_page_1.png"));
+        assertThat(expandedScreenshots.get(2).getDescription(), is("Step 3"));
+        assertThat(heightOf("scaled_google_page_1.png"), is(1500));
+    }
+
+    @Test
+    public void should_not_rewrite_an_up_to_date_scaled_screenshot() throws IOException {
+        ScreenshotProcessor processor = new ScreenshotProcessor(1);
+        List<Screenshot> screenshots = Arrays.asList(new Screenshot("google_page_1.png", "Step 1", 1200));
+        processor.expandToHeight(screenshots, screenshotDirectory, 1500);
+        File scaledScreenshot = new File(screenshotDirectory, "scaled_google_page_1.png");
+        long lastModified = scaledScreenshot.lastModified() + 10000;
+        scaledScreenshot.setLastModified(lastModified);
+
+        processor.expandToHeight(screenshots, screenshotDirectory, 1500);
+
+        assertThat(scaledScreenshot.lastModified(), is(lastModified));
+    }
+
+    @Test
+    public void should_rescale_a_screenshot_again_for_a_different_height() throws IOException {
+        ScreenshotProcessor processor = new ScreenshotProcessor(1);
+        List<Screenshot> screenshots = Arrays.asList(new Screenshot("google_page_1.png", "Step 1", 1200));
+        processor.expandToHeight(screenshots, screenshotDirectory, 1500);
+        File scaledScreenshot = new File(screenshotDirectory, "scaled_google_page_1.png");
+        scaledScreenshot.setLastModified(scaledScreenshot.lastModified() + 10000);
+
+        processor.expandToHeight(screenshots, screenshotDirectory, 1800);
+
+        assertThat(heightOf("scaled_google_page_1.png"), is(1800));
+    }
+
+    @Test
+    public void should_rescale_a_screenshot_again_if_the_original_is_more_recent() throws IOException {
+        ScreenshotProcessor processor = new ScreenshotProcessor(1);
+        List<Screenshot> screenshots = Arrays.asList(new Screenshot("google_page_1.png", "Step 1", 1200));
+        processor.expandToHeight(screenshots, screenshotDirectory, 1500);
+        File scaledScreenshot = new File(screenshotDirectory, "scaled_google_page_1.png");
+        scaledScreenshot.setLastModified(0);
+
+        processor.expandToHeight(screenshots, screenshotDirectory, 1500);
+
+        assertThat(scaledScreenshot.lastModified() > 0, is(true));
+    }
+
+    @Test
+    public void concurrent_reports_should_not_rescale_the_same_screenshot_to_different_heights_at_once()
+            throws Exception {
+        final ScreenshotProcessor processor = new ScreenshotProcessor(4);
+        final List<Screenshot> screenshots = Arrays.asList(new Screenshot("google_page_1.png", "Step 1", 1200));
+        ExecutorService reports = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Screenshot>> firstReport = reports.submit(expansionOf(processor, screenshots, 1500));
+            Future<List<Screenshot>> secondReport = reports.submit(expansionOf(processor, screenshots, 1800));
+
+            assertThat(firstReport.get().get(0).getHeight(), is(1500));
+            assertThat(secondReport.get().get(0).getHeight(), is(1800));
+            int scaledHeight = heightOf("scaled_google_page_1.png");
+            assertThat((scaledHeight == 1500) || (scaledHeight == 1800), is(true));
+        } finally {
+            reports.shutdown();
+        }
+    }
+
+    private Callable<List<Screenshot>> expansionOf(final ScreenshotProcessor processor,
+                                                   final List<Screenshot> screenshots,
+                                                   final int targetHeight) {
+        return new Callable<List<Screenshot>>() {
+            public List<Screenshot> call() throws IOException {
+                return processor.expandToHeight(screenshots, screenshotDirectory, targetHeight);
+            }
+        };
+    }
+
+    @Test
+    public void should_leave_missing_screenshots_unchanged() throws IOException {
+        ScreenshotProcessor processor = new ScreenshotProcessor(4);
+        Screenshot missingScreenshot = new Screenshot("missing.png", "Step 1", 1200);
+
+        List<Screenshot> expandedScreenshots = processor.expandToHeight(Arrays.asList(missingScreenshot),
+                                                                        screenshotDirectory, 1500);
+
+        assertThat(expandedScreenshots.get(0), is(missingScreenshot));
+    }
+
+    @Test
+    public void should_record_the_height_of_the_expanded_screenshots() throws IOException {
+        ScreenshotProcessor processor = new ScreenshotProcessor(1);
+        List<Screenshot> screenshots = Arrays.asList(new Screenshot("google_page_1.png", "Step 1", 1200));
+
+        List<Screenshot> expandedScreenshots = processor.expandToHeight(screenshots, screenshotDirectory, 1500);
+
+        assertThat(expandedScreenshots.get(0).getHeight(), is(1500));
+    }
+
+    @Test
+    public void should_create_a_small_thumbnail_of_each_screenshot() throws IOException {
+        ScreenshotProcessor processor = new ScreenshotProcessor(1);
+        List<Screenshot> screenshots = Arrays.asList(new Screenshot("amazon.png", "Step 1", 1495));
+
+        processor.expandToHeight(screenshots, screenshotDirectory, 1500);
+
+        File thumbnail = new File(screenshotDirectory, "thumbnail_amazon.png");
+        assertThat(thumbnail.exists(), is(true));
+        assertThat(widthOf("thumbnail_amazon.png"), is(96));
+        assertThat(heightOf("thumbnail_amazon.png"), is(96));
+    }
+
+    @Test
+    public void should_convert_the_screenshots_to_jpeg_if_requested() throws IOException {
+        System.setProperty(ThucydidesSystemProperty.REPORT_JPEG_SCREENSHOTS.getPropertyName(), "true");
+        ScreenshotProcessor processor = new ScreenshotProcessor(1);
+        List<Screenshot> screenshots = Arrays.asList(new Screenshot("google_page_1.png", "Step 1", 1200));
+
+        List<Screenshot> expandedScreenshots = processor.expandToHeight(screenshots, screenshotDirectory, 1500);
+
+        File jpegScreenshot = new File(screenshotDirectory, "scaled_google_page_1.jpg");
+        assertThat(expandedScreenshots.get(0).getFilename(), is("scaled_google_page_1.jpg"));
+        assertThat(jpegScreenshot.exists(), is(true));
+        assertThat(heightOf("scaled_google_page_1.jpg"), is(1500));
+        assertThat(new File(screenshotDirectory, "scaled_google_page_1.png").exists(), is(false));
+    }
+
+    @Test
+    public void should_reuse_an_up_to_date_jpeg_screenshot() throws IOException {
+        System.setProperty(ThucydidesSystemProperty.REPORT_JPEG_SCREENSHOTS.getPropertyName(), "true");
+        ScreenshotProcessor processor = new ScreenshotProcessor(1);
+        List<Screenshot> screenshots = Arrays.asList(new Screenshot("google_page_1.png", "Step 1", 1200));
+        processor.expandToHeight(screenshots, screenshotDirectory, 1500);
+        File jpegScreenshot = new File(screenshotDirectory, "scaled_google_page_1.jpg");
+        long firstWrite = new File(screenshotDirectory, "google_page_1.png").lastModified() + 60000;
+        jpegScreenshot.setLastModified(firstWrite);
+
+        new ScreenshotProcessor(1).expandToHeight(screenshots, screenshotDirectory, 1500);
+
+        assertThat(jpegScreenshot.lastModified(), is(firstWrite));
+    }
+
+    private int widthOf(final String filename) throws IOException {
+        return new SimpleImageInfo(new File(screenshotDirectory, filename)).getWidth();
+    }
+
+    private int heightOf(final String filename) throws IOException {
+        return new SimpleImageInfo(new File(screenshotDirectory, filename)).getHeight();
+    }
+}
@@ -13,6 +13,7 @@ import org.mockito.MockitoAnnotations;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
@@ -60,6 +61,26 @@ public class WhenGeneratingAnAggregateHtmlReport {
         assertThat(data.getStoryResults().size(), is(4));
     }
 
+    @Test
+    public void should_generate_the_same_pages_when_rendering_sequentially_or_in_parallel() throws Exception {
+
+        File sourceDirectory = new File("src/test/resources/featured-user-story-reports");
+
+        reporter.setRenderingThreadCount(1);
+        reporter.generateReportsForStoriesFrom(sourceDirectory);
+        String[] pagesRenderedSequentially = outputDirectory.list();
+        Arrays.sort(pagesRenderedSequentially);
+
+        File parallelOutputDirectory = temporaryDirectory.newFolder("target/site/thucydides-parallel");
+        reporter.setOutputDirectory(parallelOutputDirectory);
+        reporter.setRenderingThreadCount(4);
+        reporter.generateReportsForStoriesFrom(sourceDirectory);
+        String[] pagesRenderedInParallel = parallelOutputDirectory.list();
+        Arrays.sort(pagesRenderedInParallel);
+
+        assertThat(pagesRenderedInParallel, is(pagesRenderedSequentially));
+    }
+
     @Test
     public void should_generate_an_aggregate_feature_report() throws Exception {
 
@@ -0,0 +1,157 @@
+package net.thucydides.core.reports.integration;
+
+import net.thucydides.core.model.StoryTestResults;
+import net.thucydides.core.model.TestOutcomeSummary;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.userstories.UserStoryLoader;
+import net.thucydides.core.reports.xml.TestOutcomeIndex;
+import net.thucydides.core.reports.xml.XMLTestOutcomeReporter;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class WhenIndexingTestOutcomeReports {
+
+    @Rule
+    public TemporaryFolder temporaryDirectory = new TemporaryFolder();
+
+    private File reportDirectory;
+
+    private File indexFile;
+
+    private static final String REPORT_XML =
+            "<acceptance-test-run title='A simple test case' name='a_simple_test_case' steps='2' successful='1' failures='1' skipped='0' ignored='0' pending='0' result='FAILURE'>\n"
+          + "  <user-story id='net.thucydides.core.reports.integration.WhenGeneratingAnXMLReport.AUserStory' name='A user story'>\n"
+          + "    <feature id='myapp.myfeatures.SomeFeature' name='Some feature' />\n"
+          + "  </user-story>\n"
+          + "  <test-step result='SUCCESS'>\n"
+          + "    <description>step 1</description>\n"
+          + "  </test-step>\n"
+          + "  <test-step result='FAILURE'>\n"
+          + "    <description>step 2</description>\n"
+          + "  </test-step>\n"
+          + "</acceptance-test-run>";
+
+    @Before
+    public void setupDirectories() throws Exception {
+        reportDirectory = temporaryDirectory.newFolder("reports");
+        FileUtils.copyDirectory(new File("src/test/resources/multiple-user-story-reports"), reportDirectory);
+        indexFile = new File(reportDirectory, TestOutcomeIndex.INDEX_FILENAME);
+    }
+
+    @Test
+    public void should_load_the_same_user_stories_with_or_without_an_index() throws Exception {
+        UserStoryLoader loader = new UserStoryLoader();
+        loader.setSummaryOnly(true);
+        List<StoryTestResults> storiesWithoutIndex = loader.loadFrom(reportDirectory);
+
+        loader.setIndexFile(indexFile);
+        loader.loadFrom(reportDirectory);
+        List<StoryTestResults> storiesFromIndex = loader.loadFrom(reportDirectory);
+
+        assertThat(indexFile.exists(), is(true));
+        assertThat(storiesFromIndex.size(), is(storiesWithoutIndex.size()));
+        for (int i = 0; i < storiesWithoutIndex.size(); i++) {
+            assertThat(storiesFromIndex.get(i).getStory(), is(storiesWithoutIndex.get(i).getStory()));
+            assertThat(storiesFromIndex.get(i).getTotal(), is(storiesWithoutIndex.get(i).getTotal()));
+            assertThat(storiesFromIndex.get(i).getStepCount(), is(storiesWithoutIndex.get(i).getStepCount()));
+            assertThat(storiesFromIndex.get(i).getResult(), is(storiesWithoutIndex.get(i).getResult()));
+        }
+    }
+
+    @Test
+    public void should_reuse_the_indexed_summary_of_an_unchanged_report() throws Exception {
+        File report = reportFileContaining(REPORT_XML);
+        indexSummaryOf(report);
+
+        TestOutcomeIndex index = TestOutcomeIndex.loadFrom(indexFile);
+
+        assertThat(index.isUpToDateFor(report), is(true));
+        TestOutcomeSummary summary = index.getSummaryFor(report);
+        assertThat(summary.getTitle(), is("A simple test case"));
+        assertThat(summary.getUserStory().getName(), is("A user story"));
+        assertThat(summary.getFeature().getName(), is("Some feature"));
+        assertThat(summary.getResult(), is(TestResult.FAILURE));
+        assertThat(summary.getStepCount(), is(2));
+        assertThat(summary.getFailureCount(), is(1));
+    }
+
+    @Test
+    public void should_reuse_the_indexed_summary_of_a_report_with_the_same_contents_but_a_new_date() throws Exception {
+        File report = reportFileContaining(REPORT_XML);
+        indexSummaryOf(report);
+        report.setLastModified(report.lastModified() - 60000);
+
+        TestOutcomeIndex index = TestOutcomeIndex.loadFrom(indexFile);
+
+        assertThat(index.isUpToDateFor(report), is(true));
+    }
+
+    @Test
+    public void should_not_reuse_the_indexed_summary_of_a_modified_report() throws Exception {
+        File report = reportFileContaining(REPORT_XML);
+        indexSummaryOf(report);
+        FileUtils.writeStringToFile(report, REPORT_XML.replace("A simple test case", "A modified test case"));
+
+        TestOutcomeIndex index = TestOutcomeIndex.loadFrom(indexFile);
+
+        assertThat(index.isUpToDateFor(report), is(false));
+    }
+
+    @Test
+    public void should_remember_files_that_are_not_thucydides_reports() throws Exception {
+        File report = reportFileContaining("<project><name>Not a report</name></project>");
+        TestOutcomeIndex index = TestOutcomeIndex.loadFrom(indexFile);
+        index.recordNonReport(report);
+        index.save();
+
+        TestOutcomeIndex reloadedIndex = TestOutcomeIndex.loadFrom(indexFile);
+
+        assertThat(reloadedIndex.isUpToDateFor(report), is(true));
+        assertThat(reloadedIndex.getSummaryFor(report), is(nullValue()));
+    }
+
+    @Test
+    public void reports_with_the_same_name_in_different_directories_should_be_indexed_separately() throws Exception {
+        File report = reportFileContaining(REPORT_XML);
+        indexSummaryOf(report);
+        File reportWithTheSameName = new File(temporaryDirectory.newFolder("other"), report.getName());
+        FileUtils.copyFile(report, reportWithTheSameName);
+
+        TestOutcomeIndex index = TestOutcomeIndex.loadFrom(indexFile);
+
+        assertThat(index.isUpToDateFor(reportWithTheSameName), is(false));
+        assertThat(index.isUpToDateFor(report), is(true));
+    }
+
+    @Test
+    public void should_start_with_an_empty_index_if_the_index_file_is_corrupted() throws Exception {
+        File report = reportFileContaining(REPORT_XML);
+        FileUtils.writeStringToFile(indexFile, "not an index");
+
+        TestOutcomeIndex index = TestOutcomeIndex.loadFrom(indexFile);
+
+        assertThat(index.isUpToDateFor(report), is(false));
+    }
+
+    private File reportFileContaining(final String contents) throws Exception {
+        File report = new File(temporaryDirectory.newFolder("indexed"), "report.xml");
+        FileUtils.writeStringToFile(report, contents);
+        return report;
+    }
+
+    private void indexSummaryOf(final File report) throws Exception {
+        TestOutcomeIndex index = TestOutcomeIndex.loadFrom(indexFile);
+        index.recordSummaryFor(report, new XMLTestOutcomeReporter().loadReportSummaryFrom(report));
+        index.save();
+    }
+}
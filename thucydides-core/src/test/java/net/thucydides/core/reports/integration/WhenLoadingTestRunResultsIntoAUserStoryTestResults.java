@@ -62,4 +62,24 @@ public class WhenLoadingTestRunResultsIntoAUserStoryTestResults {
         assertThat(stories.size(), is(2));
     }
 
+    @Test
+    public void should_load_the_same_user_stories_in_the_same_order_when_loading_in_parallel() throws IOException {
+
+        loader.setThreadCount(1);
+        List<StoryTestResults> storiesLoadedSequentially
+                = loader.loadFrom(new File("src/test/resources/multiple-user-story-reports"));
+
+        loader.setThreadCount(4);
+        List<StoryTestResults> storiesLoadedInParallel
+                = loader.loadFrom(new File("src/test/resources/multiple-user-story-reports"));
+
+        assertThat(storiesLoadedInParallel.size(), is(storiesLoadedSequentially.size()));
+        for (int i = 0; i < storiesLoadedSequentially.size(); i++) {
+            StoryTestResults expected = storiesLoadedSequentially.get(i);
+            StoryTestResults actual = storiesLoadedInParallel.get(i);
+            assertThat(actual.getStory(), is(expected.getStory()));
+            assertThat(actual.getTotal(), is(expected.getTotal()));
+        }
+    }
+
 }
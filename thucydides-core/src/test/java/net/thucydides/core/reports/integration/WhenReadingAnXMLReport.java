@@ -5,6 +5,7 @@ import net.thucydides.core.model.TestOutcome;
 import net.thucydides.core.model.TestResult;
 import net.thucydides.core.model.TestStep;
 import net.thucydides.core.model.features.ApplicationFeature;
+import net.thucydides.core.reports.xml.NotAThucydidesReportException;
 import net.thucydides.core.reports.xml.XMLTestOutcomeReporter;
 import org.apache.commons.io.FileUtils;
 import org.junit.Before;
@@ -223,5 +224,57 @@ public class WhenReadingAnXMLReport {
         assertThat(testOutcome.getTestSteps().get(1).getDescription(), is("step 2"));
     }
 
+    @Test
+    public void should_load_a_summary_of_the_test_outcome_without_the_test_steps() throws Exception {
+        String storedReportXML =
+            "<acceptance-test-run title='A nested test case' name='a_nested_test_case' steps='3' successful='2' failures='1' skipped='0' ignored='0' pending='0' result='FAILURE'>\n"
+            + "  <user-story id='net.thucydides.core.reports.integration.WhenGeneratingAnXMLReport.AUserStory' name='A user story'>\n"
+            + "    <feature id='myapp.myfeatures.SomeFeature' name='Some feature' />\n"
+            + "  </user-story>\n"
+            + "  <issues>\n"
+            + "    <issue>#123</issue>\n"
+            + "  </issues>\n"
+            + "  <test-group name='Group 1' result='FAILURE'>\n"
+            + "    <test-step result='SUCCESS'>\n"
+            + "      <description>step 1</description>\n"
+            + "    </test-step>\n"
+            + "    <test-step result='FAILURE'>\n"
+            + "      <description>step 2</description>\n"
+            + "      <error>Oops</error>\n"
+            + "    </test-step>\n"
+            + "  </test-group>\n"
+            + "  <test-step result='SUCCESS'>\n"
+            + "    <description>step 3</description>\n"
+            + "  </test-step>\n"
+            + "</acceptance-test-run>";
+
+        File report = temporaryDirectory.newFile("saved-report.xml");
+        FileUtils.writeStringToFile(report, storedReportXML);
+
+        TestOutcome fullTestOutcome = outcomeReporter.loadReportFrom(report);
+        TestOutcome testOutcome = outcomeReporter.loadReportSummaryFrom(report);
+
+        assertThat(testOutcome.getTitle(), is("A nested test case"));
+        assertThat(testOutcome.getMethodName(), is("a_nested_test_case"));
+        assertThat(testOutcome.getUserStory().getName(), is("A user story"));
+        assertThat(testOutcome.getFeature().getName(), is("Some feature"));
+        assertThat(testOutcome.getIssues(), hasItems("#123"));
+        assertThat(testOutcome.getResult(), is(TestResult.FAILURE));
+        assertThat(testOutcome.getTestSteps().size(), is(0));
+
+        assertThat(testOutcome.getStepCount(), is(fullTestOutcome.getStepCount()));
+        assertThat(testOutcome.getNestedStepCount(), is(fullTestOutcome.getNestedStepCount()));
+        assertThat(testOutcome.countTestSteps(), is(fullTestOutcome.countTestSteps()));
+        assertThat(testOutcome.getSuccessCount(), is(fullTestOutcome.getSuccessCount()));
+        assertThat(testOutcome.getFailureCount(), is(fullTestOutcome.getFailureCount()));
+        assertThat(testOutcome.getReportName(), is(fullTestOutcome.getReportName()));
+    }
 
+    @Test(expected = NotAThucydidesReportException.class)
+    public void should_reject_xml_files_that_are_not_thucydides_reports() throws Exception {
+        File report = temporaryDirectory.newFile("not-a-report.xml");
+        FileUtils.writeStringToFile(report, "<project><name>Not a report</name></project>");
+
+        outcomeReporter.loadReportFrom(report);
+    }
 }
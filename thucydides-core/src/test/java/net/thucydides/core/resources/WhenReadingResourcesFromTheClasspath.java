@@ -54,6 +54,28 @@ public class WhenReadingResourcesFromTheClasspath {
         assertThat(resources.isEmpty(), is(false));
     }
 
+    @Test
+    public void should_return_the_resources_in_a_given_directory() {
+        Collection<String> resources = ResourceList.getResourcesIn("resourcelist");
+        assertThat(resources, hasItems(endsWith("resourcelist/sample.css"),
+                                       endsWith("resourcelist/stylesheets/sample.css"),
+                                       endsWith("resourcelist/sample.xsl")));
+        assertThat(resources, not(hasItem(endsWith("pom.xml"))));
+        assertThat(resources, not(hasItem(containsString("localresourcelist"))));
+    }
+
+    @Test
+    public void should_return_the_resources_in_a_given_directory_even_from_a_dependency() {
+        Collection<String> resources = ResourceList.getResourcesIn("report-resources");
+        assertThat(resources, hasItem(endsWith("report-resources/css/core.css")));
+    }
+
+    @Test
+    public void should_return_no_resources_for_an_unknown_directory() {
+        Collection<String> resources = ResourceList.getResourcesIn("no-such-directory");
+        assertThat(resources.isEmpty(), is(true));
+    }
+
     @Test
     public void should_transform_windows_source_path_into_relative_target_path() {
 
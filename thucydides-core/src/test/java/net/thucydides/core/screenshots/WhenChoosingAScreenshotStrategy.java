@@ -0,0 +1,144 @@
+package net.thucydides.core.screenshots;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.annotations.Screenshots;
+import net.thucydides.core.junit.rules.SaveWebdriverSystemPropertiesRule;
+import net.thucydides.core.model.TestResult;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openqa.selenium.WebDriver;
+
+import static net.thucydides.core.model.TestResult.FAILURE;
+import static net.thucydides.core.model.TestResult.SUCCESS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+public class WhenChoosingAScreenshotStrategy {
+
+    @Rule
+    public SaveWebdriverSystemPropertiesRule saveWebdriverSystemPropertiesRule = new SaveWebdriverSystemPropertiesRule();
+
+    @Mock
+    WebDriver driver;
+
+    @Before
+    public void initMocks() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void screenshots_should_be_taken_after_every_step_by_default() {
+        ScreenshotStrategy strategy = ScreenshotPolicy.strategyForTestClass(null);
+
+        assertThat(screenshotsTakenFor(strategy, SUCCESS, SUCCESS, SUCCESS), is(3));
+    }
+
+    @Test
+    public void the_failing_steps_strategy_should_only_take_screenshots_of_failures() {
+        ScreenshotStrategy strategy = ScreenshotPolicy.FAILING_STEPS.newStrategy(10, 20);
+
+        assertThat(screenshotsTakenFor(strategy, SUCCESS, FAILURE, SUCCESS), is(1));
+    }
+
+    @Test
+    public void the_every_nth_step_strategy_should_take_the_first_step_and_every_nth_step_after_it() {
+        ScreenshotStrategy strategy = ScreenshotPolicy.EVERY_NTH_STEP.newStrategy(3, 20);
+
+        assertThat(strategy.shouldTakeScreenshotFor(SUCCESS, false, driver), is(true));
+        assertThat(strategy.shouldTakeScreenshotFor(SUCCESS, false, driver), is(false));
+        assertThat(strategy.shouldTakeScreenshotFor(SUCCESS, false, driver), is(false));
+        assertThat(strategy.shouldTakeScreenshotFor(SUCCESS, false, driver), is(true));
+    }
+
+    @Test
+    public void the_every_nth_step_strategy_should_always_take_screenshots_of_failures() {
+        ScreenshotStrategy strategy = ScreenshotPolicy.EVERY_NTH_STEP.newStrategy(3, 20);
+
+        assertThat(screenshotsTakenFor(strategy, SUCCESS, FAILURE, SUCCESS), is(2));
+    }
+
+    @Test
+    public void the_url_change_strategy_should_only_take_screenshots_when_the_url_changes() {
+        ScreenshotStrategy strategy = ScreenshotPolicy.URL_CHANGE.newStrategy(10, 20);
+        when(driver.getCurrentUrl()).thenReturn("http://www.google.com", "http://www.google.com",
+                                                "http://www.google.com/search");
+
+        assertThat(screenshotsTakenFor(strategy, SUCCESS, SUCCESS, SUCCESS), is(2));
+    }
+
+    @Test
+    public void the_step_group_strategy_should_only_take_screenshots_at_group_boundaries() {
+        ScreenshotStrategy strategy = ScreenshotPolicy.STEP_GROUPS.newStrategy(10, 20);
+
+        assertThat(strategy.shouldTakeScreenshotFor(SUCCESS, false, driver), is(false));
+        assertThat(strategy.shouldTakeScreenshotFor(SUCCESS, true, driver), is(true));
+        assertThat(strategy.shouldTakeScreenshotFor(FAILURE, false, driver), is(true));
+    }
+
+    @Test
+    public void the_budget_strategy_should_stop_taking_screenshots_when_the_budget_is_spent() {
+        ScreenshotStrategy strategy = ScreenshotPolicy.BUDGET.newStrategy(10, 2);
+
+        assertThat(screenshotsTakenFor(strategy, SUCCESS, SUCCESS, SUCCESS, SUCCESS, FAILURE), is(3));
+    }
+
+    @Test
+    public void the_strategy_can_be_chosen_using_a_system_property() {
+        System.setProperty(ThucydidesSystemProperty.SCREENSHOT_STRATEGY.getPropertyName(), "budget");
+        System.setProperty(ThucydidesSystemProperty.SCREENSHOT_BUDGET.getPropertyName(), "1");
+
+        ScreenshotStrategy strategy = ScreenshotPolicy.strategyForTestClass(null);
+
+        assertThat(screenshotsTakenFor(strategy, SUCCESS, SUCCESS, SUCCESS), is(1));
+    }
+
+    public static class OnlyGroupsStrategy implements ScreenshotStrategy {
+        public boolean shouldTakeScreenshotFor(final TestResult result, final boolean atGroupBoundary,
+                                               final WebDriver driver) {
+            return atGroupBoundary;
+        }
+    }
+
+    @Test
+    public void a_custom_strategy_can_be_chosen_using_its_class_name() {
+        System.setProperty(ThucydidesSystemProperty.SCREENSHOT_STRATEGY.getPropertyName(),
+                           OnlyGroupsStrategy.class.getName());
+
+        ScreenshotStrategy strategy = ScreenshotPolicy.strategyForTestClass(null);
+
+        assertThat(strategy instanceof OnlyGroupsStrategy, is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void an_unknown_strategy_should_be_reported() {
+        System.setProperty(ThucydidesSystemProperty.SCREENSHOT_STRATEGY.getPropertyName(), "sometimes");
+
+        ScreenshotPolicy.strategyForTestClass(null);
+    }
+
+    @Screenshots(value = ScreenshotPolicy.EVERY_NTH_STEP, interval = 2)
+    static class ATestClassWithAScreenshotPolicy {}
+
+    @Test
+    public void an_annotation_on_the_test_class_should_override_the_system_property() {
+        System.setProperty(ThucydidesSystemProperty.SCREENSHOT_STRATEGY.getPropertyName(), "failing_steps");
+
+        ScreenshotStrategy strategy = ScreenshotPolicy.strategyForTestClass(ATestClassWithAScreenshotPolicy.class);
+
+        assertThat(screenshotsTakenFor(strategy, SUCCESS, SUCCESS, SUCCESS, SUCCESS), is(2));
+    }
+
+    private int screenshotsTakenFor(final ScreenshotStrategy strategy, final TestResult... results) {
+        int screenshotsTaken = 0;
+        for (TestResult result : results) {
+            if (strategy.shouldTakeScreenshotFor(result, false, driver)) {
+                screenshotsTaken++;
+            }
+        }
+        return screenshotsTaken;
+    }
+}
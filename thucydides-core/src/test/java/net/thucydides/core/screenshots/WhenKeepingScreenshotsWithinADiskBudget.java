@@ -0,0 +1,214 @@
+package net.thucydides.core.screenshots;
+
+import net.thucydides.core.model.TestStep;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class WhenKeepingScreenshotsWithinADiskBudget {
+
+    @Rule
+    public TemporaryFolder temporaryDirectory = new TemporaryFolder();
+
+    @Test
+    public void nothing_should_be_evicted_while_the_budget_is_not_exceeded() throws IOException {
+        ScreenshotStorageBudget budget = new ScreenshotStorageBudget(1000);
+        TestStep step = stepWithScreenshot("screenshot-1.png");
+
+        budget.recordScreenshot(step, step.getScreenshot(), step.getHtmlSource(), 600, false);
+
+        assertThat(budget.isExceeded(), is(false));
+    }
+
+    @Test
+    public void the_oldest_screenshots_of_passing_steps_should_be_evicted_first() throws IOException {
+        ScreenshotStorageBudget budget = new ScreenshotStorageBudget(1000);
+        TestStep firstStep = stepWithScreenshot("screenshot-1.png");
+        TestStep secondStep = stepWithScreenshot("screenshot-2.png");
+        File firstScreenshot = firstStep.getScreenshot();
+        File firstPageSource = firstStep.getHtmlSource();
+
+        budget.recordScreenshot(firstStep, firstStep.getScreenshot(), firstStep.getHtmlSource(), 600, false);
+        budget.recordScreenshot(secondStep, secondStep.getScreenshot(), secondStep.getHtmlSource(), 600, false);
+        budget.evictPassingScreenshots();
+
+        assertThat(firstStep.getScreenshot(), is(nullValue()));
+        assertThat(firstStep.getHtmlSource(), is(nullValue()));
+        assertThat(firstScreenshot.exists(), is(false));
+        assertThat(firstPageSource.exists(), is(false));
+        assertThat(secondStep.getScreenshot().exists(), is(true));
+        assertThat(budget.getUsedSpace(), is(600L));
+    }
+
+    @Test
+    public void screenshots_of_failing_steps_should_always_be_kept() throws IOException {
+        ScreenshotStorageBudget budget = new ScreenshotStorageBudget(1000);
+        TestStep failingStep = stepWithScreenshot("screenshot-1.png");
+        TestStep passingStep = stepWithScreenshot("screenshot-2.png");
+        TestStep anotherFailingStep = stepWithScreenshot("screenshot-3.png");
+
+        budget.recordScreenshot(failingStep, failingStep.getScreenshot(), failingStep.getHtmlSource(), 600, true);
+        budget.recordScreenshot(passingStep, passingStep.getScreenshot(), passingStep.getHtmlSource(), 600, false);
+        budget.recordScreenshot(anotherFailingStep, anotherFailingStep.getScreenshot(),
+                                anotherFailingStep.getHtmlSource(), 600, true);
+        budget.evictPassingScreenshots();
+
+        assertThat(failingStep.getScreenshot().exists(), is(true));
+        assertThat(anotherFailingStep.getScreenshot().exists(), is(true));
+        assertThat(passingStep.getScreenshot(), is(nullValue()));
+        assertThat(budget.isExceeded(), is(true));
+    }
+
+    @Test
+    public void a_shared_screenshot_should_be_removed_from_all_the_steps_that_use_it() throws IOException {
+        ScreenshotStorageBudget budget = new ScreenshotStorageBudget(1000);
+        TestStep firstStep = stepWithScreenshot("screenshot-1.png");
+        TestStep stepWithTheSameScreenshot = new TestStep("same page");
+        stepWithTheSameScreenshot.setScreenshot(firstStep.getScreenshot());
+        stepWithTheSameScreenshot.setHtmlSource(firstStep.getHtmlSource());
+        TestStep lastStep = stepWithScreenshot("screenshot-2.png");
+
+        budget.recordScreenshot(firstStep, firstStep.getScreenshot(), firstStep.getHtmlSource(), 600, false);
+        budget.recordScreenshot(stepWithTheSameScreenshot, firstStep.getScreenshot(), firstStep.getHtmlSource(),
+                                600, false);
+        budget.recordScreenshot(lastStep, lastStep.getScreenshot(), lastStep.getHtmlSource(), 600, false);
+        budget.evictPassingScreenshots();
+
+        assertThat(firstStep.getScreenshot(), is(nullValue()));
+        assertThat(stepWithTheSameScreenshot.getScreenshot(), is(nullValue()));
+        assertThat(lastStep.getScreenshot().exists(), is(true));
+    }
+
+    @Test
+    public void a_shared_screenshot_used_by_a_failing_step_should_be_kept() throws IOException {
+        ScreenshotStorageBudget budget = new ScreenshotStorageBudget(1000);
+        TestStep passingStep = stepWithScreenshot("screenshot-1.png");
+        TestStep failingStep = new TestStep("failing step");
+        failingStep.setScreenshot(passingStep.getScreenshot());
+
+        budget.recordScreenshot(passingStep, passingStep.getScreenshot(), passingStep.getHtmlSource(), 1200, false);
+        budget.recordScreenshot(failingStep, passingStep.getScreenshot(), passingStep.getHtmlSource(), 1200, true);
+        budget.evictPassingScreenshots();
+
+        assertThat(passingStep.getScreenshot().exists(), is(true));
+    }
+
+    @Test
+    public void a_reused_screenshot_saved_elsewhere_should_never_be_evicted() throws IOException {
+        ScreenshotStorageBudget budget = new ScreenshotStorageBudget(1000);
+        TestStep stepWithAScreenshotSavedElsewhere = stepWithScreenshot("screenshot-1.png");
+        TestStep lastStep = stepWithScreenshot("screenshot-2.png");
+
+        budget.recordReusedScreenshot(stepWithAScreenshotSavedElsewhere,
+                                      stepWithAScreenshotSavedElsewhere.getScreenshot(), false);
+        budget.recordScreenshot(lastStep, lastStep.getScreenshot(), lastStep.getHtmlSource(), 1200, false);
+        budget.evictPassingScreenshots();
+
+        assertThat(stepWithAScreenshotSavedElsewhere.getScreenshot().exists(), is(true));
+        assertThat(lastStep.getScreenshot(), is(nullValue()));
+    }
+
+    @Test
+    public void a_reused_screenshot_saved_by_this_listener_should_be_evicted_from_all_its_steps() throws IOException {
+        ScreenshotStorageBudget budget = new ScreenshotStorageBudget(1000);
+        TestStep firstStep = stepWithScreenshot("screenshot-1.png");
+        TestStep stepReusingTheScreenshot = new TestStep("same page");
+        stepReusingTheScreenshot.setScreenshot(firstStep.getScreenshot());
+        TestStep lastStep = stepWithScreenshot("screenshot-2.png");
+
+        budget.recordScreenshot(firstStep, firstStep.getScreenshot(), firstStep.getHtmlSource(), 600, false);
+        budget.recordReusedScreenshot(stepReusingTheScreenshot, firstStep.getScreenshot(), false);
+        budget.recordScreenshot(lastStep, lastStep.getScreenshot(), lastStep.getHtmlSource(), 600, false);
+        budget.evictPassingScreenshots();
+
+        assertThat(stepReusingTheScreenshot.getScreenshot(), is(nullValue()));
+    }
+
+    @Test
+    public void the_actual_size_of_the_saved_files_should_replace_the_estimated_size() throws IOException {
+        ScreenshotStorageBudget budget = new ScreenshotStorageBudget(1000);
+        TestStep step = stepWithScreenshot("screenshot-1.png");
+        FileUtils.writeByteArrayToFile(step.getScreenshot(), new byte[300]);
+        FileUtils.writeByteArrayToFile(step.getHtmlSource(), new byte[100]);
+
+        budget.recordScreenshot(step, step.getScreenshot(), step.getHtmlSource(), 5000, false);
+        budget.measureSavedFiles();
+
+        assertThat(budget.getUsedSpace(), is(400L));
+        assertThat(budget.isExceeded(), is(false));
+    }
+
+    @Test
+    public void a_page_source_shared_with_a_failing_step_should_be_kept() throws IOException {
+        ScreenshotStorageBudget budget = new ScreenshotStorageBudget(1000);
+        TestStep passingStep = stepWithScreenshot("screenshot-1.png");
+        File sharedPageSource = passingStep.getHtmlSource();
+        TestStep failingStep = new TestStep("failing step on the same page");
+        failingStep.setScreenshot(temporaryDirectory.newFile("screenshot-2.png"));
+        failingStep.setHtmlSource(sharedPageSource);
+
+        budget.recordScreenshot(passingStep, passingStep.getScreenshot(), sharedPageSource, 1200, false);
+        budget.recordScreenshot(failingStep, failingStep.getScreenshot(), null, 600, true);
+        budget.evictPassingScreenshots();
+
+        assertThat(passingStep.getScreenshot(), is(nullValue()));
+        assertThat(passingStep.getHtmlSource(), is(nullValue()));
+        assertThat(failingStep.getHtmlSource(), is(sharedPageSource));
+        assertThat(sharedPageSource.exists(), is(true));
+    }
+
+    @Test
+    public void a_shared_page_source_should_be_deleted_once_no_step_uses_it() throws IOException {
+        ScreenshotStorageBudget budget = new ScreenshotStorageBudget(1000);
+        TestStep firstStep = stepWithScreenshot("screenshot-1.png");
+        File sharedPageSource = firstStep.getHtmlSource();
+        TestStep secondStep = new TestStep("second step on the same page");
+        secondStep.setScreenshot(temporaryDirectory.newFile("screenshot-2.png"));
+        secondStep.setHtmlSource(sharedPageSource);
+        TestStep lastStep = stepWithScreenshot("screenshot-3.png");
+
+        budget.recordScreenshot(firstStep, firstStep.getScreenshot(), sharedPageSource, 500, false);
+        budget.recordScreenshot(secondStep, secondStep.getScreenshot(), null, 500, false);
+        budget.recordScreenshot(lastStep, lastStep.getScreenshot(), lastStep.getHtmlSource(), 500, false);
+        budget.evictPassingScreenshots();
+
+        assertThat(firstStep.getScreenshot(), is(nullValue()));
+        assertThat(secondStep.getScreenshot(), is(nullValue()));
+        assertThat(secondStep.getHtmlSource(), is(nullValue()));
+        assertThat(sharedPageSource.exists(), is(false));
+        assertThat(lastStep.getHtmlSource().exists(), is(true));
+    }
+
+    @Test
+    public void shared_page_sources_should_be_counted_once_at_their_size_on_disk() throws IOException {
+        ScreenshotStorageBudget budget = new ScreenshotStorageBudget(1000);
+        TestStep firstStep = stepWithScreenshot("screenshot-1.png");
+        TestStep secondStep = new TestStep("second step on the same page");
+        secondStep.setScreenshot(temporaryDirectory.newFile("screenshot-2.png"));
+        secondStep.setHtmlSource(firstStep.getHtmlSource());
+        FileUtils.writeByteArrayToFile(firstStep.getScreenshot(), new byte[300]);
+        FileUtils.writeByteArrayToFile(secondStep.getScreenshot(), new byte[200]);
+        FileUtils.writeByteArrayToFile(firstStep.getHtmlSource(), new byte[100]);
+
+        budget.recordScreenshot(firstStep, firstStep.getScreenshot(), firstStep.getHtmlSource(), 5000, false);
+        budget.recordScreenshot(secondStep, secondStep.getScreenshot(), null, 5000, false);
+        budget.measureSavedFiles();
+
+        assertThat(budget.getUsedSpace(), is(600L));
+    }
+
+    private TestStep stepWithScreenshot(final String screenshotName) throws IOException {
+        TestStep step = new TestStep(screenshotName);
+        step.setScreenshot(temporaryDirectory.newFile(screenshotName));
+        step.setHtmlSource(temporaryDirectory.newFile(screenshotName.replace(".png", ".html")));
+        return step;
+    }
+}
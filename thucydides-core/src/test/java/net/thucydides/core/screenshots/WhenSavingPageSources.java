@@ -0,0 +1,149 @@
+package net.thucydides.core.screenshots;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.firefox.FirefoxDriver;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import static net.thucydides.core.model.TestResult.FAILURE;
+import static net.thucydides.core.model.TestResult.SUCCESS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WhenSavingPageSources {
+
+    @Rule
+    public TemporaryFolder temporaryDirectory = new TemporaryFolder();
+
+    @Mock
+    private FirefoxDriver driver;
+
+    private File screenshotDirectory;
+
+    private Photographer photographer;
+
+    @Before
+    public void prepareTemporaryFilesAndDirectories() throws IOException {
+        MockitoAnnotations.initMocks(this);
+        screenshotDirectory = temporaryDirectory.newFolder("screenshots");
+        photographer = new Photographer(driver, screenshotDirectory);
+        byte[] screenshotData = FileUtils.readFileToByteArray(new File("src/test/resources/screenshots/amazon.png"));
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
+    }
+
+    @After
+    public void resetSystemProperties() {
+        System.clearProperty(ThucydidesSystemProperty.PAGE_SOURCE_CAPTURE.getPropertyName());
+    }
+
+    @Test
+    public void page_sources_should_be_saved_in_gzip_format() throws IOException {
+        String pageSource = largePageSource();
+        when(driver.getPageSource()).thenReturn(pageSource);
+
+        CapturedScreenshot screenshot = photographer.captureScreenshot("screenshot");
+
+        File savedSource = screenshot.getPageSource();
+        assertThat(savedSource.getName().endsWith(".html.gz"), is(true));
+        assertThat(savedSource.length(), is(lessThan((long) pageSource.length())));
+        InputStream in = new GZIPInputStream(new FileInputStream(savedSource));
+        in.close();
+    }
+
+    @Test
+    public void compressed_page_sources_should_be_decompressed_when_they_are_read() throws IOException {
+        String pageSource = largePageSource();
+        when(driver.getPageSource()).thenReturn(pageSource);
+
+        CapturedScreenshot screenshot = photographer.captureScreenshot("screenshot");
+
+        assertThat(PageSources.read(screenshot.getPageSource()), is(pageSource));
+    }
+
+    @Test
+    public void uncompressed_page_sources_should_still_be_readable() throws IOException {
+        File savedSource = temporaryDirectory.newFile("screenshot.html");
+        FileUtils.writeStringToFile(savedSource, "<html/>");
+
+        assertThat(PageSources.read(savedSource), is("<html/>"));
+    }
+
+    @Test
+    public void the_page_source_should_not_be_fetched_if_it_is_not_needed() {
+        CapturedScreenshot screenshot = photographer.captureScreenshot("screenshot", false);
+
+        verify(driver, never()).getPageSource();
+        assertThat(screenshot.getPageSource(), is(nullValue()));
+        assertThat(photographer.getMatchingSourceCodeFor(screenshot.getScreenshot()).exists(), is(false));
+    }
+
+    @Test
+    public void skipping_the_page_source_once_should_not_affect_later_screenshots() {
+        when(driver.getPageSource()).thenReturn("<html/>");
+
+        photographer.captureScreenshot("screenshot", false);
+        CapturedScreenshot laterScreenshot = photographer.captureScreenshot("screenshot");
+
+        assertThat(laterScreenshot.getPageSource().exists(), is(true));
+    }
+
+    @Test
+    public void page_sources_should_be_saved_for_every_screenshot_by_default() {
+        PageSourcePolicy policy = PageSourcePolicy.fromSystemProperties();
+
+        assertThat(policy, is(PageSourcePolicy.ALWAYS));
+        assertThat(policy.shouldCapturePageSourceFor(SUCCESS), is(true));
+    }
+
+    @Test
+    public void page_sources_can_be_saved_for_failing_steps_only() {
+        System.setProperty(ThucydidesSystemProperty.PAGE_SOURCE_CAPTURE.getPropertyName(), "failing_steps");
+
+        PageSourcePolicy policy = PageSourcePolicy.fromSystemProperties();
+
+        assertThat(policy.shouldCapturePageSourceFor(SUCCESS), is(false));
+        assertThat(policy.shouldCapturePageSourceFor(FAILURE), is(true));
+    }
+
+    @Test
+    public void page_sources_can_be_turned_off() {
+        System.setProperty(ThucydidesSystemProperty.PAGE_SOURCE_CAPTURE.getPropertyName(), "never");
+
+        PageSourcePolicy policy = PageSourcePolicy.fromSystemProperties();
+
+        assertThat(policy.shouldCapturePageSourceFor(FAILURE), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void an_unknown_page_source_policy_should_be_rejected() {
+        System.setProperty(ThucydidesSystemProperty.PAGE_SOURCE_CAPTURE.getPropertyName(), "sometimes");
+
+        PageSourcePolicy.fromSystemProperties();
+    }
+
+    private String largePageSource() {
+        StringBuilder pageSource = new StringBuilder("<html><body>");
+        for (int i = 0; i < 1000; i++) {
+            pageSource.append("<div class='row'>Row ").append(i).append("</div>");
+        }
+        return pageSource.append("</body></html>").toString();
+    }
+}
@@ -0,0 +1,96 @@
+package net.thucydides.core.screenshots;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.firefox.FirefoxDriver;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+public class WhenSavingScreenshotsInTheBackground {
+
+    @Rule
+    public TemporaryFolder temporaryDirectory = new TemporaryFolder();
+
+    @Mock
+    private FirefoxDriver driver;
+
+    private File screenshotDirectory;
+
+    private File screenshotTaken;
+
+    @Before
+    public void prepareTemporaryFilesAndDirectories() throws IOException {
+        MockitoAnnotations.initMocks(this);
+        screenshotDirectory = temporaryDirectory.newFolder("screenshots");
+        screenshotTaken = temporaryDirectory.newFile("screenshot.png");
+        FileUtils.copyFile(new File("src/test/resources/screenshots/amazon.png"), screenshotTaken);
+    }
+
+    @Test
+    public void the_screenshot_and_page_source_should_be_saved_once_the_queue_is_flushed() throws IOException {
+        ScreenshotWriterQueue writerQueue = new ScreenshotWriterQueue();
+        Photographer photographer = new Photographer(driver, screenshotDirectory, writerQueue);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(FileUtils.readFileToByteArray(screenshotTaken));
+        when(driver.getPageSource()).thenReturn("<html/>");
+
+        File screenshotFile = photographer.takeScreenshot("screenshot");
+        writerQueue.flush();
+
+        assertThat(screenshotFile.isFile(), is(true));
+        assertThat(PageSources.read(photographer.getMatchingSourceCodeFor(screenshotFile)), is("<html/>"));
+    }
+
+    @Test
+    public void flushing_should_wait_for_all_the_queued_screenshots() throws IOException {
+        ScreenshotWriterQueue writerQueue = new ScreenshotWriterQueue(2);
+        for (int i = 0; i < 10; i++) {
+            writerQueue.queue(slowWriteOf(new File(screenshotDirectory, "screenshot-" + i + ".png")));
+        }
+
+        writerQueue.flush();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(new File(screenshotDirectory, "screenshot-" + i + ".png").isFile(), is(true));
+        }
+    }
+
+    @Test
+    public void a_failed_write_should_not_stop_the_queue() throws IOException {
+        ScreenshotWriterQueue writerQueue = new ScreenshotWriterQueue();
+        writerQueue.queue(new ScreenshotWriterQueue.ScreenshotWrite() {
+            public void write() throws IOException {
+                throw new IOException("Disk full");
+            }
+        });
+        File savedScreenshot = new File(screenshotDirectory, "screenshot.png");
+        writerQueue.queue(slowWriteOf(savedScreenshot));
+
+        writerQueue.flush();
+
+        assertThat(savedScreenshot.isFile(), is(true));
+    }
+
+    private ScreenshotWriterQueue.ScreenshotWrite slowWriteOf(final File target) {
+        return new ScreenshotWriterQueue.ScreenshotWrite() {
+            public void write() throws IOException {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                FileUtils.copyFile(screenshotTaken, target);
+            }
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package net.thucydides.core.screenshots;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -30,7 +31,7 @@ public class WhenScreenshotsAreTaken {
     public TemporaryFolder temporaryDirectory = new TemporaryFolder();
 
     private File screenshotDirectory;
-    private File screenshotTaken;
+    private byte[] screenshotData;
 
     @Mock
     private FirefoxDriver driver;
@@ -49,14 +50,14 @@ public class WhenScreenshotsAreTaken {
     @Before
     public void prepareTemporaryFilesAndDirectories() throws IOException {
         screenshotDirectory = temporaryDirectory.newFolder("screenshots");
-        screenshotTaken = temporaryDirectory.newFile("screenshot.png");
+        screenshotData = FileUtils.readFileToByteArray(new File("src/test/resources/screenshots/amazon.png"));
     }
 
     
     @Test
     public void the_driver_should_capture_the_image() throws IOException {
 
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
         photographer.takeScreenshot("screenshot");
         
         verify(driver,times(1)).getScreenshotAs((OutputType<?>) anyObject());        
@@ -66,7 +67,7 @@ public class WhenScreenshotsAreTaken {
     @Test
     public void should_not_take_a_snapshot_if_unsupported_by_the_driver() throws IOException {
 
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
         Photographer photographer = new Photographer(htmlDriver, screenshotDirectory);
         photographer.takeScreenshot("screenshot");
 
@@ -76,7 +77,7 @@ public class WhenScreenshotsAreTaken {
     @Test
     public void the_driver_should_save_the_corresponding_source_code() throws IOException {
 
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
         when(driver.getPageSource()).thenReturn("<html/>");
         photographer.takeScreenshot("screenshot");
 
@@ -86,7 +87,7 @@ public class WhenScreenshotsAreTaken {
     @Test
     public void the_screenshot_should_be_stored_in_the_target_directory() throws IOException {
 
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
         
         String screenshotFile = photographer.takeScreenshot("screenshot").getName();
         File savedScreenshot = new File(screenshotDirectory, screenshotFile);
@@ -97,7 +98,7 @@ public class WhenScreenshotsAreTaken {
     @Test
     public void the_photographer_should_return_the_stored_screenshot_filename() throws IOException {
 
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
         
         String savedFileName = photographer.takeScreenshot("screenshot").getName();
         
@@ -110,7 +111,7 @@ public class WhenScreenshotsAreTaken {
     @Test
     public void the_photographer_should_provide_the_HTML_source_code_for_a_given_screenshot() throws IOException {
 
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
         when(driver.getPageSource()).thenReturn("<html/>");
 
         File screenshotFile = photographer.takeScreenshot("screenshot");
@@ -120,10 +121,31 @@ public class WhenScreenshotsAreTaken {
         assertThat(htmlSource.isFile(), is(true));
     }
 
+    @Test
+    public void the_photographer_should_record_the_screenshot_dimensions_from_the_image_header() throws IOException {
+
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
+
+        CapturedScreenshot capturedScreenshot = photographer.captureScreenshot("screenshot");
+
+        assertThat(capturedScreenshot.getWidth(), is(1495));
+        assertThat(capturedScreenshot.getHeight(), is(2236));
+    }
+
+    @Test
+    public void the_photographer_should_write_the_captured_bytes_to_the_screenshot_file() throws IOException {
+
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
+
+        File screenshotFile = photographer.takeScreenshot("screenshot");
+
+        assertThat(FileUtils.readFileToByteArray(screenshotFile), is(screenshotData));
+    }
+
     @Test
     public void successive_screenshots_should_have_different_names() throws IOException {
 
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
         
         String screenshotName1 = photographer.takeScreenshot("screenshot").getName();
         String screenshotName2 = photographer.takeScreenshot("screenshot").getName();
@@ -133,7 +155,7 @@ public class WhenScreenshotsAreTaken {
 
     @Test
     public void calling_api_generates_a_filename_safe_hashed_name_for_the_screenshot() throws IOException {
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
 
         String screenshotFile = photographer.takeScreenshot("test1_finished").getName();
         
@@ -142,7 +164,7 @@ public class WhenScreenshotsAreTaken {
     
     @Test
     public void by_default_screenshot_files_start_with_Screenshot() throws IOException {
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
 
         String screenshotFile = photographer.takeScreenshot("screenshot").getName();
         
@@ -155,7 +177,8 @@ public class WhenScreenshotsAreTaken {
         }
 
         @Override
-        protected File saveScreenshoot(String prefix, File screenshot) throws IOException {
+        protected SavedScreenshot saveScreenshoot(String prefix, byte[] screenshot, boolean includePageSource)
+                throws IOException {
             throw new IOException();
         }
     }
@@ -164,7 +187,7 @@ public class WhenScreenshotsAreTaken {
     public void a_screenshot_runtime_exception_should_be_thrown_if_something_goes_wrong() {
 
         DodgyPhotographer dodgyPhotographer = new DodgyPhotographer(driver, screenshotDirectory);
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
 
         dodgyPhotographer.takeScreenshot("screenshot").getName();
     }
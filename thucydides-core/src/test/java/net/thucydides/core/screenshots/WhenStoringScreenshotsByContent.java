@@ -0,0 +1,180 @@
+package net.thucydides.core.screenshots;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.firefox.FirefoxDriver;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.when;
+
+public class WhenStoringScreenshotsByContent {
+
+    @Rule
+    public TemporaryFolder temporaryDirectory = new TemporaryFolder();
+
+    @Mock
+    private FirefoxDriver driver;
+
+    private File screenshotDirectory;
+
+    private byte[] screenshotData;
+
+    @Before
+    public void prepareTemporaryFilesAndDirectories() throws IOException {
+        MockitoAnnotations.initMocks(this);
+        System.setProperty(ThucydidesSystemProperty.CONTENT_ADDRESSED_SCREENSHOTS.getPropertyName(), "true");
+        screenshotDirectory = temporaryDirectory.newFolder("screenshots");
+        screenshotData = FileUtils.readFileToByteArray(new File("src/test/resources/screenshots/amazon.png"));
+        when(driver.getPageSource()).thenReturn("<html/>");
+    }
+
+    @After
+    public void resetSystemProperties() {
+        System.clearProperty(ThucydidesSystemProperty.CONTENT_ADDRESSED_SCREENSHOTS.getPropertyName());
+    }
+
+    @Test
+    public void identical_screenshots_should_be_stored_in_the_same_file() {
+        Photographer photographer = new Photographer(driver, screenshotDirectory);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
+
+        File firstScreenshot = photographer.takeScreenshot("first_step");
+        File secondScreenshot = photographer.takeScreenshot("second_step");
+
+        assertThat(secondScreenshot, is(firstScreenshot));
+        assertThat(screenshotDirectory.list(new PngFilter()).length, is(1));
+    }
+
+    @Test
+    public void a_duplicate_screenshot_should_not_be_written_again() {
+        Photographer photographer = new Photographer(driver, screenshotDirectory);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
+
+        File firstScreenshot = photographer.takeScreenshot("first_step");
+        firstScreenshot.setLastModified(0);
+        photographer.takeScreenshot("second_step");
+
+        assertThat(firstScreenshot.lastModified(), is(0L));
+    }
+
+    @Test
+    public void different_screenshots_should_be_stored_in_different_files() {
+        Photographer photographer = new Photographer(driver, screenshotDirectory);
+        byte[] otherScreenshotData = screenshotData.clone();
+        otherScreenshotData[otherScreenshotData.length - 1]++;
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData, otherScreenshotData);
+
+        File firstScreenshot = photographer.takeScreenshot("step");
+        File secondScreenshot = photographer.takeScreenshot("step");
+
+        assertThat(secondScreenshot, is(not(firstScreenshot)));
+        assertThat(screenshotDirectory.list(new PngFilter()).length, is(2));
+    }
+
+    @Test
+    public void the_screenshot_name_should_be_derived_from_its_contents() {
+        Photographer photographer = new Photographer(driver, screenshotDirectory);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
+
+        File screenshot = photographer.takeScreenshot("step");
+
+        assertThat(screenshot.getName().matches("screenshot-[0-9a-f]{32}\\.png"), is(true));
+    }
+
+    @Test
+    public void identical_screenshots_of_different_pages_should_keep_their_own_page_sources() throws IOException {
+        Photographer photographer = new Photographer(driver, screenshotDirectory);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
+        when(driver.getPageSource()).thenReturn("<html>first page</html>", "<html>second page</html>");
+
+        CapturedScreenshot firstScreenshot = photographer.captureScreenshot("first_step");
+        CapturedScreenshot secondScreenshot = photographer.captureScreenshot("second_step");
+
+        assertThat(secondScreenshot.getScreenshot(), is(firstScreenshot.getScreenshot()));
+        assertThat(PageSources.read(firstScreenshot.getPageSource()), is("<html>first page</html>"));
+        assertThat(PageSources.read(secondScreenshot.getPageSource()), is("<html>second page</html>"));
+    }
+
+    @Test
+    public void identical_page_sources_should_be_stored_in_the_same_file() {
+        Photographer photographer = new Photographer(driver, screenshotDirectory);
+        byte[] otherScreenshotData = screenshotData.clone();
+        otherScreenshotData[otherScreenshotData.length - 1]++;
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData, otherScreenshotData);
+
+        CapturedScreenshot firstScreenshot = photographer.captureScreenshot("step");
+        CapturedScreenshot secondScreenshot = photographer.captureScreenshot("step");
+
+        assertThat(secondScreenshot.getPageSource(), is(firstScreenshot.getPageSource()));
+    }
+
+    @Test
+    public void a_screenshot_already_saved_by_another_photographer_should_not_be_reported_as_newly_saved() {
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
+        new Photographer(driver, screenshotDirectory).captureScreenshot("another_test");
+
+        CapturedScreenshot screenshot = new Photographer(driver, screenshotDirectory).captureScreenshot("step");
+
+        assertThat(screenshot.isNewlySaved(), is(false));
+        assertThat(screenshot.isPageSourceNewlySaved(), is(false));
+    }
+
+    @Test
+    public void an_empty_file_left_by_a_failed_write_should_be_written_again() throws IOException {
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
+        File screenshot = new Photographer(driver, screenshotDirectory).takeScreenshot("step");
+        FileUtils.writeByteArrayToFile(screenshot, new byte[0]);
+
+        CapturedScreenshot capturedScreenshot = new Photographer(driver, screenshotDirectory).captureScreenshot("step");
+
+        assertThat(capturedScreenshot.isNewlySaved(), is(true));
+        assertThat(FileUtils.readFileToByteArray(screenshot), is(screenshotData));
+    }
+
+    @Test
+    public void a_failed_write_should_leave_the_screenshot_free_to_be_saved_later() throws IOException {
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
+        File unwritableDirectory = temporaryDirectory.newFile("not-a-directory");
+        try {
+            new Photographer(driver, unwritableDirectory).captureScreenshot("step");
+        } catch (ScreenshotException expected) {
+        }
+        unwritableDirectory.delete();
+        unwritableDirectory.mkdirs();
+
+        CapturedScreenshot capturedScreenshot = new Photographer(driver, unwritableDirectory).captureScreenshot("step");
+
+        assertThat(capturedScreenshot.isNewlySaved(), is(true));
+        assertThat(capturedScreenshot.getScreenshot().length() > 0, is(true));
+        assertThat(capturedScreenshot.getPageSource().length() > 0, is(true));
+    }
+
+    @Test
+    public void no_temporary_files_should_be_left_behind() {
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
+
+        new Photographer(driver, screenshotDirectory).captureScreenshot("step");
+
+        assertThat(screenshotDirectory.list().length, is(2));
+    }
+
+    private static class PngFilter implements FilenameFilter {
+        public boolean accept(final File dir, final String name) {
+            return name.endsWith(".png");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package net.thucydides.core.steps;
+
+import net.thucydides.core.annotations.Pending;
+import net.thucydides.core.annotations.Step;
+import net.thucydides.core.annotations.StepGroup;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class WhenCachingStepMethodInfo {
+
+    static class SampleSteps {
+
+        @Step
+        public void a_step(String name, int age) {}
+
+        @StepGroup("A group")
+        public void a_step_group() {}
+
+        @Pending @Step
+        public void a_pending_step() {}
+
+        @Ignore @Step
+        public void an_ignored_step() {}
+
+        public void not_a_step() {}
+    }
+
+    static class CountingArgument {
+        int renderCount = 0;
+
+        @Override
+        public String toString() {
+            renderCount++;
+            return "argument";
+        }
+    }
+
+    private Method method(final String name) {
+        for (Method method : SampleSteps.class.getMethods()) {
+            if (method.getName().equals(name)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void step_method_info_should_only_be_worked_out_once_per_method() {
+        StepMethodInfo stepMethod = StepMethodInfo.forMethod(method("a_step"));
+
+        assertThat(StepMethodInfo.forMethod(method("a_step")), is(sameInstance(stepMethod)));
+    }
+
+    @Test
+    public void step_method_info_should_record_the_step_annotations() {
+        assertThat(StepMethodInfo.forMethod(method("a_step")).isAStep(), is(true));
+        assertThat(StepMethodInfo.forMethod(method("a_step_group")).isAStep(), is(true));
+        assertThat(StepMethodInfo.forMethod(method("not_a_step")).isAStep(), is(false));
+        assertThat(StepMethodInfo.forMethod(method("a_pending_step")).isPending(), is(true));
+        assertThat(StepMethodInfo.forMethod(method("an_ignored_step")).isIgnored(), is(true));
+        assertThat(StepMethodInfo.forMethod(method("toString")).isAnObjectMethod(), is(true));
+    }
+
+    @Test
+    public void step_names_should_include_the_parameter_values() {
+        StepMethodInfo stepMethod = StepMethodInfo.forMethod(method("a_step"));
+
+        assertThat(stepMethod.getStepName(new Object[] {"Joe", 42}, false), is("a_step: Joe, 42"));
+        assertThat(stepMethod.getStepName(new Object[] {"Joe", 42}, true),
+                   is("a_step: <span class='parameters'>Joe, 42</span>"));
+        assertThat(stepMethod.getStepName(new Object[0], true), is("a_step"));
+    }
+
+    @Test
+    public void step_descriptions_should_only_render_the_step_name_when_it_is_needed() {
+        CountingArgument argument = new CountingArgument();
+        StepMethodInfo stepMethod = StepMethodInfo.forMethod(method("a_step"));
+
+        ExecutedStepDescription description = ExecutedStepDescription.of(SampleSteps.class, stepMethod,
+                                                                         new Object[] {argument, 42});
+        assertThat(argument.renderCount, is(0));
+
+        assertThat(description.getName(), is("a_step: <span class='parameters'>argument, 42</span>"));
+        description.getName();
+        assertThat(argument.renderCount, is(1));
+    }
+
+    @Test
+    public void step_descriptions_should_use_the_arguments_the_step_was_called_with() {
+        StepMethodInfo stepMethod = StepMethodInfo.forMethod(method("a_step"));
+        Object[] arguments = new Object[] {"Joe", 42};
+
+        ExecutedStepDescription description = ExecutedStepDescription.of(SampleSteps.class, stepMethod, arguments);
+        arguments[0] = "Jack";
+
+        assertThat(description.getName(), is("a_step: <span class='parameters'>Joe, 42</span>"));
+    }
+}
@@ -0,0 +1,115 @@
+package net.thucydides.core.steps;
+
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+import net.thucydides.core.annotations.Step;
+import net.thucydides.core.pages.Pages;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+
+public class WhenCreatingStepLibraryProxies {
+
+    @SuppressWarnings("serial")
+    public static class SimpleSteps extends ScenarioSteps {
+
+        public SimpleSteps(final Pages pages) {
+            super(pages);
+        }
+
+        @Step
+        public void a_step() {}
+    }
+
+    @SuppressWarnings("serial")
+    public static class UnusedSteps extends ScenarioSteps {
+
+        public UnusedSteps(final Pages pages) {
+            super(pages);
+        }
+    }
+
+    static class RecordingInterceptor implements MethodInterceptor {
+        final List<String> calls = new ArrayList<String>();
+
+        public Object intercept(final Object obj, final Method method,
+                                final Object[] args, final MethodProxy proxy) throws Throwable {
+            calls.add(method.getName());
+            return proxy.invokeSuper(obj, args);
+        }
+    }
+
+    private Pages newPages() {
+        return new Pages(mock(WebDriver.class));
+    }
+
+    @Test
+    public void proxies_for_the_same_step_library_should_share_the_same_proxy_class() {
+        SimpleSteps firstSteps = StepLibraryProxies.newProxy(SimpleSteps.class, newPages(), new RecordingInterceptor());
+        SimpleSteps secondSteps = StepLibraryProxies.newProxy(SimpleSteps.class, newPages(), new RecordingInterceptor());
+
+        assertThat(secondSteps, is(not(sameInstance(firstSteps))));
+        assertThat(secondSteps.getClass(), is(sameInstance((Object) firstSteps.getClass())));
+    }
+
+    @Test
+    public void each_proxy_should_use_its_own_pages() {
+        Pages firstPages = newPages();
+        Pages secondPages = newPages();
+        SimpleSteps firstSteps = StepLibraryProxies.newProxy(SimpleSteps.class, firstPages, new RecordingInterceptor());
+        SimpleSteps secondSteps = StepLibraryProxies.newProxy(SimpleSteps.class, secondPages, new RecordingInterceptor());
+
+        assertThat(firstSteps.getPages(), is(sameInstance(firstPages)));
+        assertThat(secondSteps.getPages(), is(sameInstance(secondPages)));
+    }
+
+    @Test
+    public void each_proxy_should_send_calls_to_its_own_interceptor() {
+        RecordingInterceptor firstInterceptor = new RecordingInterceptor();
+        RecordingInterceptor secondInterceptor = new RecordingInterceptor();
+        SimpleSteps firstSteps = StepLibraryProxies.newProxy(SimpleSteps.class, newPages(), firstInterceptor);
+        SimpleSteps secondSteps = StepLibraryProxies.newProxy(SimpleSteps.class, newPages(), secondInterceptor);
+
+        firstSteps.a_step();
+        secondSteps.a_step();
+        secondSteps.a_step();
+
+        assertThat(firstInterceptor.calls.size(), is(1));
+        assertThat(secondInterceptor.calls.size(), is(2));
+    }
+
+    @Test
+    public void proxies_should_not_be_kept_once_they_are_no_longer_used() throws InterruptedException {
+        WeakReference<UnusedSteps> unusedSteps
+                = new WeakReference<UnusedSteps>(StepLibraryProxies.newProxy(UnusedSteps.class, newPages(),
+                                                                             new RecordingInterceptor()));
+
+        for (int attempt = 0; (attempt < 10) && (unusedSteps.get() != null); attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(unusedSteps.get() == null, is(true));
+    }
+
+    @Test
+    public void the_interceptor_should_only_be_used_by_the_proxy_it_was_created_for() throws Exception {
+        RecordingInterceptor interceptor = new RecordingInterceptor();
+        SimpleSteps steps = StepLibraryProxies.newProxy(SimpleSteps.class, newPages(), interceptor);
+
+        SimpleSteps otherSteps = (SimpleSteps) steps.getClass().getConstructor(Pages.class).newInstance(newPages());
+        otherSteps.a_step();
+
+        assertThat(interceptor.calls.isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,147 @@
+package net.thucydides.core.steps;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.annotations.Step;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import sample.listeners.SampleStepListener;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+
+public class WhenDeliveringStepEventsAsynchronously {
+
+    @Mock
+    StepListener listener;
+
+    @Before
+    public void initMocks() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @After
+    public void resetSystemProperties() {
+        System.clearProperty(ThucydidesSystemProperty.ASYNCHRONOUS_CUSTOM_LISTENERS.getPropertyName());
+    }
+
+    @Test
+    public void events_should_be_delivered_in_the_order_they_occurred() {
+        doAnswer(pause()).when(listener).testStarted(anyString());
+        AsynchronousStepListener asynchronousListener = new AsynchronousStepListener(listener);
+
+        asynchronousListener.testStarted("a_test");
+        asynchronousListener.stepStarted(ExecutedStepDescription.withTitle("a step"));
+        asynchronousListener.stepFinished();
+        asynchronousListener.testFinished(null);
+        asynchronousListener.flush();
+
+        InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).testStarted("a_test");
+        inOrder.verify(listener).stepStarted(any(ExecutedStepDescription.class));
+        inOrder.verify(listener).stepFinished();
+        inOrder.verify(listener).testFinished(null);
+    }
+
+    @Test
+    public void events_should_be_delivered_outside_the_test_thread() {
+        final String[] deliveryThread = new String[1];
+        doAnswer(new Answer<Object>() {
+            public Object answer(final InvocationOnMock invocation) {
+                deliveryThread[0] = Thread.currentThread().getName();
+                return null;
+            }
+        }).when(listener).testStarted(anyString());
+        AsynchronousStepListener asynchronousListener = new AsynchronousStepListener(listener);
+
+        asynchronousListener.testStarted("a_test");
+        asynchronousListener.flush();
+
+        assertThat(deliveryThread[0], is(not(Thread.currentThread().getName())));
+    }
+
+    static class SampleSteps {
+        @Step
+        public void a_step(StringBuilder name) {}
+    }
+
+    @Test
+    public void step_names_should_be_rendered_before_the_arguments_can_change() throws Exception {
+        final String[] deliveredName = new String[1];
+        doAnswer(pause()).when(listener).testStarted(anyString());
+        doAnswer(new Answer<Object>() {
+            public Object answer(final InvocationOnMock invocation) {
+                deliveredName[0] = ((ExecutedStepDescription) invocation.getArguments()[0]).getName();
+                return null;
+            }
+        }).when(listener).stepStarted(any(ExecutedStepDescription.class));
+        AsynchronousStepListener asynchronousListener = new AsynchronousStepListener(listener);
+        StringBuilder argument = new StringBuilder("Joe");
+        StepMethodInfo stepMethod = StepMethodInfo.forMethod(SampleSteps.class.getMethod("a_step", StringBuilder.class));
+
+        asynchronousListener.testStarted("a_test");
+        asynchronousListener.stepStarted(ExecutedStepDescription.of(SampleSteps.class, stepMethod,
+                                                                    new Object[] {argument}));
+        argument.append(" Smith");
+        asynchronousListener.flush();
+
+        assertThat(deliveredName[0], is("a_step: <span class='single-parameter'>Joe</span>"));
+    }
+
+    @Test
+    public void a_failing_listener_should_still_receive_later_events() {
+        doThrow(new IllegalStateException("Listener failed")).when(listener).testStarted(anyString());
+        AsynchronousStepListener asynchronousListener = new AsynchronousStepListener(listener);
+
+        asynchronousListener.testStarted("a_test");
+        asynchronousListener.stepFinished();
+        asynchronousListener.flush();
+
+        verify(listener).stepFinished();
+    }
+
+    @Test
+    public void custom_listeners_can_be_called_asynchronously() {
+        System.setProperty(ThucydidesSystemProperty.ASYNCHRONOUS_CUSTOM_LISTENERS.getPropertyName(), "true");
+        StepEventBus eventBus = new StepEventBus();
+        eventBus.registerListener(listener);
+
+        List<StepListener> listeners = eventBus.getAllListeners();
+
+        assertThat(listeners.contains(listener), is(true));
+        assertThat(containsAnAsynchronous(listeners, SampleStepListener.class), is(true));
+    }
+
+    private Answer<Object> pause() {
+        return new Answer<Object>() {
+            public Object answer(final InvocationOnMock invocation) throws InterruptedException {
+                Thread.sleep(50);
+                return null;
+            }
+        };
+    }
+
+    private boolean containsAnAsynchronous(final List<StepListener> listeners, final Class<?> listenerClass) {
+        for (StepListener listener : listeners) {
+            if ((listener instanceof AsynchronousStepListener)
+                    && (((AsynchronousStepListener) listener).getListener().getClass() == listenerClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
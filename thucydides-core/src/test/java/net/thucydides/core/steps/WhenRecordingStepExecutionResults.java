@@ -3,6 +3,7 @@ package net.thucydides.core.steps;
 import net.thucydides.core.ListenerInWrongPackage;
 import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.annotations.Feature;
+import net.thucydides.core.annotations.Screenshots;
 import net.thucydides.core.annotations.Story;
 import net.thucydides.core.junit.rules.SaveWebdriverSystemPropertiesRule;
 import net.thucydides.core.model.TestOutcome;
@@ -10,9 +11,13 @@ import net.thucydides.core.model.TestResult;
 import net.thucydides.core.model.TestStep;
 import net.thucydides.core.model.features.ApplicationFeature;
 import net.thucydides.core.pages.Pages;
+import net.thucydides.core.screenshots.Photographer;
 import net.thucydides.core.screenshots.ScreenshotException;
+import net.thucydides.core.screenshots.ScreenshotPolicy;
 import net.thucydides.core.steps.samples.FlatScenarioSteps;
 import net.thucydides.core.steps.samples.NestedScenarioSteps;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang.StringUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -38,6 +43,7 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -62,7 +68,7 @@ public class WhenRecordingStepExecutionResults {
 
     File outputDirectory;
 
-    File screenshot;
+    byte[] screenshotData;
 
     @Mock
     FirefoxDriver driver;
@@ -87,12 +93,12 @@ public class WhenRecordingStepExecutionResults {
     public void createStepListenerAndFactory() throws IOException {
         MockitoAnnotations.initMocks(this);
         outputDirectory = temporaryFolder.newFolder("thucydides");
-        screenshot = temporaryFolder.newFile("screenshot.jpg");
+        screenshotData = FileUtils.readFileToByteArray(new File("src/test/resources/screenshots/amazon.png"));
         stepFactory = new StepFactory(pages);
 
         stepListener = new BaseStepListener(FirefoxDriver.class, outputDirectory);
         stepListener.setDriver(driver);
-        when(driver.getScreenshotAs(any(OutputType.class))).thenReturn(screenshot);
+        when(driver.getScreenshotAs(any(OutputType.class))).thenReturn(screenshotData);
 
         StepEventBus.getEventBus().clear();
         StepEventBus.getEventBus().registerListener(stepListener);
@@ -906,6 +912,211 @@ public class WhenRecordingStepExecutionResults {
     }
 
 
+    @Test
+    public void steps_that_do_not_change_the_page_should_reuse_the_previous_screenshot() {
+
+        System.setProperty(ThucydidesSystemProperty.SKIP_UNCHANGED_SCREENSHOTS.getPropertyName(), "true");
+        when(driver.executeScript(anyString())).thenReturn("http://www.google.com|1024|42|0");
+
+        StepEventBus.getEventBus().testSuiteStarted(MyTestCase.class);
+        StepEventBus.getEventBus().testStarted("app_should_work");
+
+        FlatScenarioSteps steps =  stepFactory.getStepLibraryFor(FlatScenarioSteps.class);
+        steps.step_one();
+        steps.step_two();
+        StepEventBus.getEventBus().testFinished();
+
+        verify(driver, times(1)).getScreenshotAs((OutputType<?>) anyObject());
+        List<TestStep> testSteps = stepListener.getTestOutcomes().get(0).getTestSteps();
+        assertThat(testSteps.get(1).getScreenshot(), is(testSteps.get(0).getScreenshot()));
+    }
+
+    @Test
+    public void steps_that_change_the_page_should_take_a_new_screenshot() {
+
+        System.setProperty(ThucydidesSystemProperty.SKIP_UNCHANGED_SCREENSHOTS.getPropertyName(), "true");
+        when(driver.executeScript(anyString())).thenReturn("http://www.google.com|1024|42|0",
+                                                           "http://www.google.com|1024|42|7");
+
+        StepEventBus.getEventBus().testSuiteStarted(MyTestCase.class);
+        StepEventBus.getEventBus().testStarted("app_should_work");
+
+        FlatScenarioSteps steps =  stepFactory.getStepLibraryFor(FlatScenarioSteps.class);
+        steps.step_one();
+        steps.step_two();
+        StepEventBus.getEventBus().testFinished();
+
+        verify(driver, times(2)).getScreenshotAs((OutputType<?>) anyObject());
+    }
+
+    @Test
+    public void failing_steps_should_always_take_a_new_screenshot() {
+
+        System.setProperty(ThucydidesSystemProperty.SKIP_UNCHANGED_SCREENSHOTS.getPropertyName(), "true");
+        when(driver.executeScript(anyString())).thenReturn("http://www.google.com|1024|42|0");
+
+        StepEventBus.getEventBus().testSuiteStarted(MyTestCase.class);
+        StepEventBus.getEventBus().testStarted("app_should_work");
+
+        FlatScenarioSteps steps =  stepFactory.getStepLibraryFor(FlatScenarioSteps.class);
+        steps.step_one();
+        steps.failingStep();
+        StepEventBus.getEventBus().testFinished();
+
+        verify(driver, times(2)).getScreenshotAs((OutputType<?>) anyObject());
+    }
+
+    @Test
+    public void screenshots_should_be_taken_after_every_step_if_the_page_state_is_unknown() {
+
+        System.setProperty(ThucydidesSystemProperty.SKIP_UNCHANGED_SCREENSHOTS.getPropertyName(), "true");
+
+        StepEventBus.getEventBus().testSuiteStarted(MyTestCase.class);
+        StepEventBus.getEventBus().testStarted("app_should_work");
+
+        FlatScenarioSteps steps =  stepFactory.getStepLibraryFor(FlatScenarioSteps.class);
+        steps.step_one();
+        steps.step_two();
+        StepEventBus.getEventBus().testFinished();
+
+        verify(driver, times(2)).getScreenshotAs((OutputType<?>) anyObject());
+    }
+
+    @Test
+    public void screenshots_of_passing_steps_should_be_deleted_when_the_disk_budget_is_exceeded() {
+
+        System.setProperty(ThucydidesSystemProperty.SCREENSHOT_DISK_BUDGET.getPropertyName(), "2");
+        BaseStepListener listenerWithABudget = new BaseStepListener(FirefoxDriver.class, outputDirectory);
+        listenerWithABudget.setDriver(driver);
+        StepEventBus.getEventBus().dropListener(stepListener);
+        StepEventBus.getEventBus().registerListener(listenerWithABudget);
+
+        StepEventBus.getEventBus().testSuiteStarted(MyTestCase.class);
+        StepEventBus.getEventBus().testStarted("app_should_work");
+
+        FlatScenarioSteps steps =  stepFactory.getStepLibraryFor(FlatScenarioSteps.class);
+        steps.step_one();
+        steps.step_two();
+        steps.failingStep();
+        StepEventBus.getEventBus().testFinished();
+        StepEventBus.getEventBus().dropListener(listenerWithABudget);
+
+        List<TestStep> testSteps = listenerWithABudget.getTestOutcomes().get(0).getTestSteps();
+        assertThat(testSteps.get(0).getScreenshot(), is(nullValue()));
+        assertThat(testSteps.get(1).getScreenshot(), is(nullValue()));
+        assertThat(testSteps.get(2).getScreenshot().exists(), is(true));
+    }
+
+    @Test
+    public void compressed_page_sources_should_be_counted_at_their_size_on_disk() {
+
+        System.setProperty(ThucydidesSystemProperty.SCREENSHOT_DISK_BUDGET.getPropertyName(), "2");
+        when(driver.getPageSource()).thenReturn(StringUtils.repeat("<div>Same row</div>", 50000));
+        BaseStepListener listenerWithABudget = new BaseStepListener(FirefoxDriver.class, outputDirectory);
+        listenerWithABudget.setDriver(driver);
+        StepEventBus.getEventBus().dropListener(stepListener);
+        StepEventBus.getEventBus().registerListener(listenerWithABudget);
+
+        StepEventBus.getEventBus().testSuiteStarted(MyTestCase.class);
+        StepEventBus.getEventBus().testStarted("app_should_work");
+
+        FlatScenarioSteps steps =  stepFactory.getStepLibraryFor(FlatScenarioSteps.class);
+        steps.step_one();
+        StepEventBus.getEventBus().testFinished();
+        StepEventBus.getEventBus().dropListener(listenerWithABudget);
+
+        List<TestStep> testSteps = listenerWithABudget.getTestOutcomes().get(0).getTestSteps();
+        assertThat(testSteps.get(0).getScreenshot().exists(), is(true));
+    }
+
+    @Test
+    public void screenshots_already_saved_by_another_test_should_not_be_deleted_to_stay_within_the_budget() {
+
+        System.setProperty(ThucydidesSystemProperty.CONTENT_ADDRESSED_SCREENSHOTS.getPropertyName(), "true");
+        System.setProperty(ThucydidesSystemProperty.SCREENSHOT_DISK_BUDGET.getPropertyName(), "0");
+        File screenshotSavedByAnotherTest = new Photographer(driver, outputDirectory).takeScreenshot("another_test");
+        BaseStepListener listenerWithABudget = new BaseStepListener(FirefoxDriver.class, outputDirectory);
+        listenerWithABudget.setDriver(driver);
+        StepEventBus.getEventBus().dropListener(stepListener);
+        StepEventBus.getEventBus().registerListener(listenerWithABudget);
+
+        StepEventBus.getEventBus().testSuiteStarted(MyTestCase.class);
+        StepEventBus.getEventBus().testStarted("app_should_work");
+
+        FlatScenarioSteps steps =  stepFactory.getStepLibraryFor(FlatScenarioSteps.class);
+        steps.step_one();
+        steps.step_two();
+        StepEventBus.getEventBus().testFinished();
+        StepEventBus.getEventBus().dropListener(listenerWithABudget);
+
+        List<TestStep> testSteps = listenerWithABudget.getTestOutcomes().get(0).getTestSteps();
+        assertThat(testSteps.get(0).getScreenshot(), is(screenshotSavedByAnotherTest));
+        assertThat(screenshotSavedByAnotherTest.exists(), is(true));
+    }
+
+    @Test
+    public void page_sources_can_be_saved_for_failing_steps_only() {
+
+        System.setProperty(ThucydidesSystemProperty.PAGE_SOURCE_CAPTURE.getPropertyName(), "failing_steps");
+        when(driver.getPageSource()).thenReturn("<html/>");
+        BaseStepListener listenerForFailures = new BaseStepListener(FirefoxDriver.class, outputDirectory);
+        listenerForFailures.setDriver(driver);
+        StepEventBus.getEventBus().dropListener(stepListener);
+        StepEventBus.getEventBus().registerListener(listenerForFailures);
+
+        StepEventBus.getEventBus().testSuiteStarted(MyTestCase.class);
+        StepEventBus.getEventBus().testStarted("app_should_work");
+
+        FlatScenarioSteps steps =  stepFactory.getStepLibraryFor(FlatScenarioSteps.class);
+        steps.step_one();
+        steps.failingStep();
+        StepEventBus.getEventBus().testFinished();
+        StepEventBus.getEventBus().dropListener(listenerForFailures);
+
+        verify(driver, times(1)).getPageSource();
+        List<TestStep> testSteps = listenerForFailures.getTestOutcomes().get(0).getTestSteps();
+        assertThat(testSteps.get(0).getHtmlSource(), is(nullValue()));
+        assertThat(testSteps.get(1).getHtmlSource(), is(notNullValue()));
+    }
+
+    @Story(MyStory.class)
+    @Screenshots(ScreenshotPolicy.STEP_GROUPS)
+    class MyTestCaseWithScreenshotsForStepGroups {
+        public void app_should_work() {}
+    }
+
+    @Test
+    public void the_screenshot_strategy_can_be_chosen_for_a_test_class() {
+
+        StepEventBus.getEventBus().testSuiteStarted(MyTestCaseWithScreenshotsForStepGroups.class);
+        StepEventBus.getEventBus().testStarted("app_should_work");
+
+        NestedScenarioSteps steps = stepFactory.getStepLibraryFor(NestedScenarioSteps.class);
+        steps.step1();
+        steps.step2();
+        StepEventBus.getEventBus().testFinished();
+
+        verify(driver, times(2)).getScreenshotAs((OutputType<?>) anyObject());
+    }
+
+    @Test
+    public void the_screenshot_strategy_can_be_chosen_with_a_system_property() {
+
+        System.setProperty(ThucydidesSystemProperty.SCREENSHOT_STRATEGY.getPropertyName(), "every_nth_step");
+        System.setProperty(ThucydidesSystemProperty.SCREENSHOT_INTERVAL.getPropertyName(), "2");
+
+        StepEventBus.getEventBus().testSuiteStarted(MyTestCase.class);
+        StepEventBus.getEventBus().testStarted("app_should_work");
+
+        FlatScenarioSteps steps =  stepFactory.getStepLibraryFor(FlatScenarioSteps.class);
+        steps.step_one();
+        steps.step_two();
+        steps.step_three();
+        StepEventBus.getEventBus().testFinished();
+
+        verify(driver, times(2)).getScreenshotAs((OutputType<?>) anyObject());
+    }
+
     @Test
     public void screenshots_should_be_taken_after_nested_steps() {
 
@@ -923,7 +1134,7 @@ public class WhenRecordingStepExecutionResults {
     @Test
     public void screenshots_will_be_ignored_if_they_cannot_be_taken() {
 
-        when(driver.getScreenshotAs(any(OutputType.class))).thenReturn(screenshot)
+        when(driver.getScreenshotAs(any(OutputType.class))).thenReturn(screenshotData)
                                                            .thenThrow(new ScreenshotException("Screenshot failed",null));
 
         StepEventBus.getEventBus().testSuiteStarted(MyTestCase.class);
@@ -12,11 +12,17 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.openqa.selenium.WebDriver;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 public class WhenUsingTheStepEventBus {
@@ -639,4 +645,45 @@ public class WhenUsingTheStepEventBus {
 
         assertThat(StepEventBus.getEventBus().areStepsRunning(), is(false));
     }
+
+    @Test
+    public void a_listener_registered_after_the_first_event_should_receive_later_events() {
+        StepListener lateListener = mock(StepListener.class);
+
+        StepEventBus.getEventBus().testStarted("some_test");
+        StepEventBus.getEventBus().registerListener(lateListener);
+        StepEventBus.getEventBus().stepStarted(ExecutedStepDescription.withTitle("a step"));
+        StepEventBus.getEventBus().dropListener(lateListener);
+
+        verify(lateListener, never()).testStarted(anyString());
+        verify(lateListener).stepStarted(any(ExecutedStepDescription.class));
+    }
+
+    @Test
+    public void a_dropped_listener_should_not_receive_any_more_events() {
+        StepEventBus.getEventBus().testStarted("some_test");
+        StepEventBus.getEventBus().dropListener(listener);
+        StepEventBus.getEventBus().stepStarted(ExecutedStepDescription.withTitle("a step"));
+
+        verify(listener).testStarted("some_test");
+        verify(listener, never()).stepStarted(any(ExecutedStepDescription.class));
+    }
+
+    @Test
+    public void a_listener_can_register_another_listener_while_an_event_is_being_dispatched() {
+        final StepListener lateListener = mock(StepListener.class);
+        doAnswer(new Answer<Object>() {
+            public Object answer(final InvocationOnMock invocation) {
+                StepEventBus.getEventBus().registerListener(lateListener);
+                return null;
+            }
+        }).when(listener).testStarted(anyString());
+
+        StepEventBus.getEventBus().testStarted("some_test");
+        StepEventBus.getEventBus().testFinished();
+        StepEventBus.getEventBus().dropListener(lateListener);
+
+        verify(lateListener, never()).testStarted(anyString());
+        verify(lateListener).testFinished(any(TestStepResult.class));
+    }
 }
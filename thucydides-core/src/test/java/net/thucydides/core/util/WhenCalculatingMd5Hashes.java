@@ -0,0 +1,30 @@
+package net.thucydides.core.util;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class WhenCalculatingMd5Hashes {
+
+    @Rule
+    public TemporaryFolder temporaryDirectory = new TemporaryFolder();
+
+    @Test
+    public void hashes_should_be_written_as_zero_padded_lower_case_hexadecimal() {
+        assertThat(Md5Hashes.hashOf("".getBytes()), is("d41d8cd98f00b204e9800998ecf8427e"));
+    }
+
+    @Test
+    public void a_file_should_have_the_same_hash_as_its_contents() throws Exception {
+        File file = temporaryDirectory.newFile("contents.txt");
+        FileUtils.writeStringToFile(file, "some contents");
+
+        assertThat(Md5Hashes.hashOf(file), is(Md5Hashes.hashOf("some contents".getBytes())));
+    }
+}
@@ -0,0 +1,69 @@
+package net.thucydides.core.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+
+public class WhenRunningTasksInParallel {
+
+    @Test
+    public void results_should_be_returned_in_the_order_of_the_tasks() throws IOException {
+        List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        for (int i = 0; i < 10; i++) {
+            tasks.add(slowTaskReturning(i, 10 - i));
+        }
+
+        List<Integer> results = new ParallelTaskRunner("test", 4).runAll(tasks);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(results.get(i), is(i));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void an_io_exception_in_a_task_should_be_rethrown() throws IOException {
+        List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        tasks.add(slowTaskReturning(1, 1));
+        tasks.add(new Callable<Integer>() {
+            public Integer call() throws IOException {
+                throw new IOException("Disk full");
+            }
+        });
+
+        new ParallelTaskRunner("test", 2).runAll(tasks);
+    }
+
+    @Test
+    public void other_checked_exceptions_should_be_wrapped_in_an_io_exception() {
+        List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        final Exception failure = new Exception("Oops");
+        tasks.add(new Callable<Integer>() {
+            public Integer call() throws Exception {
+                throw failure;
+            }
+        });
+
+        try {
+            new ParallelTaskRunner("test", 1).runAll(tasks);
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            assertThat(e.getCause(), is((Throwable) failure));
+        }
+    }
+
+    private Callable<Integer> slowTaskReturning(final int value, final long delay) {
+        return new Callable<Integer>() {
+            public Integer call() throws InterruptedException {
+                Thread.sleep(delay);
+                return value;
+            }
+        };
+    }
+}
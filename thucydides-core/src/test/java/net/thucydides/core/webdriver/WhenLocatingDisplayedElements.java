@@ -0,0 +1,215 @@
+package net.thucydides.core.webdriver;
+
+import net.thucydides.core.annotations.CachedElements;
+import net.thucydides.core.pages.WebElementFacade;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+import java.lang.reflect.Field;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WhenLocatingDisplayedElements {
+
+    @Mock
+    WebDriver driver;
+
+    @Mock
+    WebElement element;
+
+    static class SamplePage {
+        @FindBy(id = "q")
+        WebElement searchField;
+    }
+
+    private DisplayedElementLocator locator;
+
+    @Before
+    public void initMocks() throws NoSuchFieldException {
+        MockitoAnnotations.initMocks(this);
+        Field field = SamplePage.class.getDeclaredField("searchField");
+        locator = new DisplayedElementLocator(driver, field, 1);
+        when(driver.findElement(By.id("q"))).thenReturn(element);
+    }
+
+    @After
+    public void leaveAnyImmediateLookupScope() {
+        while (ImmediateElementLookup.isActive()) {
+            ImmediateElementLookup.exit();
+        }
+    }
+
+    @Test
+    public void elements_should_be_found_without_waiting_in_an_immediate_lookup_scope() {
+        when(element.isDisplayed()).thenReturn(false);
+
+        long start = System.currentTimeMillis();
+        ImmediateElementLookup.enter();
+        try {
+            assertThat(locator.findElement(), is(element));
+        } finally {
+            ImmediateElementLookup.exit();
+        }
+
+        assertThat(System.currentTimeMillis() - start, is(lessThan(500L)));
+        verify(driver, times(1)).findElement(By.id("q"));
+    }
+
+    @Test
+    public void immediate_lookup_scopes_can_be_nested() {
+        ImmediateElementLookup.enter();
+        ImmediateElementLookup.enter();
+        ImmediateElementLookup.exit();
+
+        assertThat(ImmediateElementLookup.isActive(), is(true));
+
+        ImmediateElementLookup.exit();
+
+        assertThat(ImmediateElementLookup.isActive(), is(false));
+    }
+
+    @Test
+    public void checking_the_current_state_of_an_element_should_use_an_immediate_lookup() {
+        final boolean[] lookedUpImmediately = new boolean[1];
+        when(element.isDisplayed()).thenAnswer(new Answer<Boolean>() {
+            public Boolean answer(final InvocationOnMock invocation) {
+                lookedUpImmediately[0] = ImmediateElementLookup.isActive();
+                return true;
+            }
+        });
+        WebElementFacade elementFacade = new WebElementFacade(driver, element, 100);
+
+        elementFacade.isCurrentlyVisible();
+
+        assertThat(lookedUpImmediately[0], is(true));
+        assertThat(ImmediateElementLookup.isActive(), is(false));
+    }
+
+    @Test
+    public void other_element_checks_should_not_use_an_immediate_lookup() {
+        final boolean[] lookedUpImmediately = new boolean[1];
+        when(element.isDisplayed()).thenAnswer(new Answer<Boolean>() {
+            public Boolean answer(final InvocationOnMock invocation) {
+                lookedUpImmediately[0] = ImmediateElementLookup.isActive();
+                return true;
+            }
+        });
+        WebElementFacade elementFacade = new WebElementFacade(driver, element, 100);
+
+        elementFacade.isVisible();
+
+        assertThat(lookedUpImmediately[0], is(false));
+    }
+
+    @CachedElements
+    static class CachedPage {
+        @FindBy(id = "q")
+        WebElement searchField;
+    }
+
+    static class PageWithACachedField {
+        @CachedElements
+        @FindBy(id = "q")
+        WebElement searchField;
+
+        @FindBy(id = "q")
+        WebElement uncachedSearchField;
+    }
+
+    @Test
+    public void elements_should_be_found_again_each_time_by_default() {
+        when(element.isDisplayed()).thenReturn(true);
+
+        locator.findElement();
+        locator.findElement();
+
+        verify(driver, times(2)).findElement(By.id("q"));
+    }
+
+    @Test
+    public void cached_elements_should_only_be_found_once() throws NoSuchFieldException {
+        when(element.isDisplayed()).thenReturn(true);
+        Field field = SamplePage.class.getDeclaredField("searchField");
+        DisplayedElementLocator cachingLocator = new DisplayedElementLocator(driver, field, 1, true);
+
+        cachingLocator.findElement();
+        cachingLocator.findElement();
+
+        verify(driver, times(1)).findElement(By.id("q"));
+    }
+
+    @Test
+    public void cached_elements_should_be_found_again_after_the_browser_opens_a_new_page() throws NoSuchFieldException {
+        WebDriverFacade driverFacade = mock(WebDriverFacade.class);
+        when(driverFacade.findElement(By.id("q"))).thenReturn(element);
+        when(driverFacade.getNavigationCount()).thenReturn(1L, 1L, 2L);
+        when(element.isDisplayed()).thenReturn(true);
+        Field field = SamplePage.class.getDeclaredField("searchField");
+        DisplayedElementLocator cachingLocator = new DisplayedElementLocator(driverFacade, field, 1, true);
+
+        cachingLocator.findElement();
+        cachingLocator.findElement();
+        cachingLocator.findElement();
+
+        verify(driverFacade, times(2)).findElement(By.id("q"));
+    }
+
+    @Test
+    public void all_the_elements_of_a_cached_page_should_be_cached() {
+        when(element.isDisplayed()).thenReturn(true);
+        CachedPage page = new CachedPage();
+        WebDriverFactory.initElementsWithAjaxSupport(page, driver, 1);
+
+        page.searchField.getText();
+        page.searchField.getText();
+
+        verify(driver, times(1)).findElement(By.id("q"));
+    }
+
+    @Test
+    public void individual_fields_can_be_cached() {
+        when(element.isDisplayed()).thenReturn(true);
+        PageWithACachedField page = new PageWithACachedField();
+        WebDriverFactory.initElementsWithAjaxSupport(page, driver, 1);
+
+        page.searchField.getText();
+        page.searchField.getText();
+        page.uncachedSearchField.getText();
+        page.uncachedSearchField.getText();
+
+        verify(driver, times(3)).findElement(By.id("q"));
+    }
+
+    @Test
+    public void a_stale_cached_element_should_be_found_again() {
+        WebElement refreshedElement = mock(WebElement.class);
+        when(element.isDisplayed()).thenReturn(true);
+        when(refreshedElement.isDisplayed()).thenReturn(true);
+        when(element.getText()).thenReturn("old").thenThrow(new StaleElementReferenceException("Stale"));
+        when(refreshedElement.getText()).thenReturn("new");
+        when(driver.findElement(By.id("q"))).thenReturn(element, refreshedElement);
+        CachedPage page = new CachedPage();
+        WebDriverFactory.initElementsWithAjaxSupport(page, driver, 1);
+
+        assertThat(page.searchField.getText(), is("old"));
+        assertThat(page.searchField.getText(), is("new"));
+        assertThat(page.searchField.getText(), is("new"));
+        verify(driver, times(2)).findElement(By.id("q"));
+    }
+}
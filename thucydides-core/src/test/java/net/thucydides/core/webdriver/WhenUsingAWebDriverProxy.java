@@ -9,8 +9,13 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.OutputType;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxProfile;
@@ -27,7 +32,9 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -204,6 +211,94 @@ public class WhenUsingAWebDriverProxy {
         verify(firefoxDriver).getTitle();
     }
 
+    @Test
+    public void the_webdriver_proxy_should_not_check_the_driver_state_before_every_command() {
+        webDriverFacade.getTitle();
+        webDriverFacade.getTitle();
+        webDriverFacade.getPageSource();
+
+        verify(firefoxDriver, times(1)).getCurrentUrl();
+    }
+
+    @Test
+    public void the_webdriver_proxy_should_check_the_driver_state_after_opening_a_new_page() {
+        webDriverFacade.getTitle();
+        webDriverFacade.get("http://www.google.com");
+        webDriverFacade.getTitle();
+
+        verify(firefoxDriver, times(2)).getCurrentUrl();
+    }
+
+    @Test
+    public void the_webdriver_proxy_should_recover_and_retry_a_command_that_fails_because_the_driver_is_invalid() {
+        WebDriver.TargetLocator targetLocator = mock(WebDriver.TargetLocator.class);
+        WebElement element = mock(WebElement.class);
+        when(firefoxDriver.switchTo()).thenReturn(targetLocator);
+        when(firefoxDriver.getCurrentUrl()).thenReturn("http://www.google.com")
+                                           .thenThrow(new WebDriverException("Frame no longer exists"));
+        when(firefoxDriver.findElement(By.id("q"))).thenThrow(new WebDriverException("Frame no longer exists"))
+                                                   .thenReturn(element);
+
+        assertThat(webDriverFacade.findElement(By.id("q")), is(element));
+        verify(targetLocator).defaultContent();
+    }
+
+    @Test(expected = WebDriverException.class)
+    public void the_webdriver_proxy_should_not_retry_a_command_that_fails_when_the_driver_is_valid() {
+        when(firefoxDriver.findElement(By.id("q"))).thenThrow(new WebDriverException("Command failed"));
+
+        try {
+            webDriverFacade.findElement(By.id("q"));
+        } finally {
+            verify(firefoxDriver, times(1)).findElement(By.id("q"));
+            verify(firefoxDriver, never()).switchTo();
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void the_webdriver_proxy_should_not_check_the_driver_state_when_an_element_is_missing() {
+        when(firefoxDriver.findElement(By.id("q"))).thenThrow(new NoSuchElementException("No such element"));
+
+        try {
+            webDriverFacade.findElement(By.id("q"));
+        } finally {
+            verify(firefoxDriver, times(1)).getCurrentUrl();
+            verify(firefoxDriver, times(1)).findElement(By.id("q"));
+        }
+    }
+
+    @Test(expected = StaleElementReferenceException.class)
+    public void the_webdriver_proxy_should_not_check_the_driver_state_when_an_element_is_stale() {
+        when(firefoxDriver.findElements(By.id("q"))).thenThrow(new StaleElementReferenceException("Stale element"));
+
+        try {
+            webDriverFacade.findElements(By.id("q"));
+        } finally {
+            verify(firefoxDriver, times(1)).getCurrentUrl();
+        }
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void the_webdriver_proxy_should_not_check_the_driver_state_when_a_command_times_out() {
+        when(firefoxDriver.findElement(By.id("q"))).thenThrow(new TimeoutException("Timed out"));
+
+        try {
+            webDriverFacade.findElement(By.id("q"));
+        } finally {
+            verify(firefoxDriver, times(1)).getCurrentUrl();
+        }
+    }
+
+    @Test
+    public void the_webdriver_proxy_should_count_the_pages_opened() {
+        long navigationCount = webDriverFacade.getNavigationCount();
+
+        webDriverFacade.get("http://www.google.com");
+        webDriverFacade.getTitle();
+
+        assertThat(webDriverFacade.getNavigationCount(), is(navigationCount + 1));
+    }
+
     @Test
     public void the_webdriver_proxy_should_ignore_get_title_when_webdriver_calls_are_disabled() {
         StepEventBus.getEventBus().temporarilySuspendWebdriverCalls();
@@ -0,0 +1,112 @@
+package net.thucydides.core.webdriver.integration;
+
+import net.thucydides.core.pages.ElementStateSnapshot;
+import net.thucydides.core.pages.PageObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+import java.io.File;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class WhenReadingElementStatesOnAWebSite {
+
+    public class IndexPage extends PageObject {
+
+        public WebElement firstname;
+
+        public WebElement checkbox;
+
+        public WebElement selectedCheckbox;
+
+        public WebElement readonlyField;
+
+        public IndexPage(WebDriver driver) {
+            super(driver, 1);
+        }
+    }
+
+    private WebDriver driver;
+
+    private IndexPage indexPage;
+
+    @Before
+    public void openLocalStaticSite() {
+        driver = new HtmlUnitDriver(true);
+        File testSite = new File(Thread.currentThread().getContextClassLoader()
+                                       .getResource("static-site/index.html").getPath());
+        driver.get("file://" + testSite.getAbsolutePath());
+        indexPage = new IndexPage(driver);
+    }
+
+    @After
+    public void closeDriver() {
+        driver.quit();
+    }
+
+    @Test
+    public void the_element_states_should_match_the_states_read_one_element_at_a_time() {
+        ElementStateSnapshot snapshot = indexPage.elementStatesOf(indexPage.firstname, indexPage.checkbox,
+                                                                  indexPage.selectedCheckbox, indexPage.readonlyField);
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            WebElement element = Arrays.asList(indexPage.firstname, indexPage.checkbox,
+                                               indexPage.selectedCheckbox, indexPage.readonlyField).get(i);
+            assertThat(snapshot.get(i).isDisplayed(), is(element.isDisplayed()));
+            assertThat(snapshot.get(i).isEnabled(), is(element.isEnabled()));
+            assertThat(snapshot.get(i).isSelected(), is(element.isSelected()));
+            assertThat(snapshot.get(i).getValue(), is(element.getAttribute("value")));
+        }
+    }
+
+    @Test
+    public void should_read_whether_fields_are_enabled_and_checked() {
+        ElementStateSnapshot snapshot = indexPage.elementStatesOf(indexPage.firstname, indexPage.checkbox,
+                                                                  indexPage.selectedCheckbox, indexPage.readonlyField);
+
+        assertThat(snapshot.get(0).getValue(), is("<enter first name>"));
+        assertThat(snapshot.get(1).isSelected(), is(false));
+        assertThat(snapshot.get(2).isSelected(), is(true));
+        assertThat(snapshot.get(3).isEnabled(), is(false));
+        assertThat(snapshot.allDisplayed(), is(true));
+    }
+
+    @Test
+    public void hidden_elements_should_be_present_but_not_displayed() {
+        ElementStateSnapshot snapshot = indexPage.elementStatesOf(By.id("invisible"), By.name("hiddenfield"));
+
+        assertThat(snapshot.get(0).isPresent(), is(true));
+        assertThat(snapshot.get(1).isPresent(), is(true));
+        assertThat(snapshot.noneDisplayed(), is(true));
+    }
+
+    @Test
+    public void the_text_should_match_the_visible_text_of_the_element() {
+        ElementStateSnapshot snapshot = indexPage.elementStatesOf(By.id("visible"), By.id("invisible"));
+
+        assertThat(snapshot.get(0).getText(), is(driver.findElement(By.id("visible")).getText()));
+        assertThat(snapshot.get(1).getText(), is(driver.findElement(By.id("invisible")).getText()));
+    }
+
+    @Test
+    public void locators_should_be_resolved_in_the_page() {
+        ElementStateSnapshot snapshot = indexPage.elementStatesOf(By.id("firstname"),
+                                                                  By.cssSelector("#selectedCheckbox"),
+                                                                  By.xpath("//h2[.='A visible title']"),
+                                                                  By.tagName("textarea"),
+                                                                  By.id("doesNotExist"));
+
+        assertThat(snapshot.get(0).getValue(), is("<enter first name>"));
+        assertThat(snapshot.get(1).isSelected(), is(true));
+        assertThat(snapshot.get(2).getText(), is("A visible title"));
+        assertThat(snapshot.get(3).getValue(), is("text value"));
+        assertThat(snapshot.get(4).isPresent(), is(false));
+    }
+}
@@ -92,6 +92,8 @@ public class JUnitStepListener extends RunListener {
 	}
 
 	public void close() {
+		baseStepListener.waitForScreenshotsToBeSaved();
+		StepEventBus.getEventBus().waitForCustomListeners();
 		StepEventBus.getEventBus().dropListener(baseStepListener);
 
 	}
@@ -472,7 +472,7 @@ public class WhenRunningATestScenario extends AbstractTestStepRunnerTest {
         List<TestStep> steps = testOutcome.getTestSteps();
         assertThat(steps.size(), is(7));
 
-        verify(firefoxDriver, times(4)).getScreenshotAs(OutputType.FILE);
+        verify(firefoxDriver, times(4)).getScreenshotAs(OutputType.BYTES);
 
     }
 
@@ -155,7 +155,7 @@
                             <td width="%"><span class="${step_class_root}-step">${step.description}</span></td>
                             <td width="100" class="bluetext">
                                 <#if !step.isAGroup() && step.screenshot??>
-                                    <a href="${testOutcome.screenshotReportName}.html"><img src="${step.screenshot.name}"
+                                    <a href="${testOutcome.screenshotReportName}.html"><img src="${step.screenshotThumbnail}"
                                                                                          class="screenshot"
                                                                                          width="48" height="48"/></a>
                                 </#if>                            </td>
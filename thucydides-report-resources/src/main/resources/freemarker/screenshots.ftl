@@ -59,12 +59,37 @@
 
 	<script type="text/javascript">
 	$(window).load(function() {
+	    var screenshots = $('#slider img');
+
+	    // Only the first screenshot is loaded with the page: the others are loaded just before they are displayed.
+	    function loadScreenshot(slide) {
+	        var screenshot = $(screenshots[(slide + screenshots.length) % screenshots.length]);
+	        if (screenshot.attr('data-src')) {
+	            screenshot.attr('src', screenshot.attr('data-src'));
+	            screenshot.removeAttr('data-src');
+	        }
+	    }
+
+	    function loadScreenshotsAround(slide) {
+	        loadScreenshot(slide + 1);
+	        loadScreenshot(slide - 1);
+	    }
+
 	    $('#slider').nivoSlider({
 			effect:'fade',
 			animSpeed:200,
 			directionNavHide:false,
 			manualAdvance:true,
-			keyboardNav:true
+			keyboardNav:true,
+			beforeChange: function() {
+			    loadScreenshot($('#slider').data('nivo:vars').currentSlide + 1);
+			},
+			afterChange: function() {
+			    loadScreenshotsAround($('#slider').data('nivo:vars').currentSlide);
+			},
+			afterLoad: function() {
+			    loadScreenshotsAround(0);
+			}
 		});
 	});
 	</script>
@@ -115,7 +140,11 @@
 	 <div class="slider-wrapper theme-default">
 		<div id="slider">
             <#foreach screenshot in screenshots>
-                <img src="${screenshot.filename}" alt="${screenshot.shortErrorMessage}" title="${screenshot.description}" width="${screenshot.width?string.computer}"/>
+                <#if screenshot_index == 0>
+                <img src="${screenshot.filename}" alt="${screenshot.shortErrorMessage}" title="${screenshot.description}" width="${screenshot.width?string.computer}"<#if screenshot.height gt 0> height="${screenshot.height?string.computer}"</#if>/>
+                <#else>
+                <img src="nivo-slider/themes/default/loading.gif" data-src="${screenshot.filename}" alt="${screenshot.shortErrorMessage}" title="${screenshot.description}" width="${screenshot.width?string.computer}"<#if screenshot.height gt 0> height="${screenshot.height?string.computer}"</#if>/>
+                </#if>
             </#foreach>
         </div>
 	  </div>